@@ -3,19 +3,38 @@ package rebootedmvp;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorColumn;
+import jakarta.persistence.DiscriminatorType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-
+import org.hibernate.annotations.SQLRestriction;
+import rebootedmvp.service.SearchIndexListener;
+
+/**
+ * All content types share the single "content" table, discriminated by
+ * content_type. Type-specific scalars are nullable columns and question
+ * options / matches are JSONB columns, so a module's content loads with one
+ * range scan of the (module_id, created_at) index.
+ */
 @Entity
-@Inheritance(strategy = InheritanceType.JOINED) // or JOINED, TABLE_PER_CLASS
-@Table(name = "content")
+@EntityListeners(SearchIndexListener.class)
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "content_type", discriminatorType = DiscriminatorType.STRING)
+@Table(name = "content", indexes = @Index(name = "idx_content_module_created", columnList = "module_id, created_at"))
+// Content under a tombstoned module or course is hidden from every entity
+// query until purged, like the module and course rows themselves
+@SQLRestriction("module_id IN (SELECT m.id FROM modules m JOIN courses c ON c.id = m.course_id "
+        + "WHERE m.deleted_at IS NULL AND c.deleted_at IS NULL)")
 // @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY,
 // property = "type")
 // @JsonSubTypes({
@@ -30,8 +49,10 @@ public abstract class Content implements HasID {
     @Column(columnDefinition = "TEXT")
     protected String body;
 
+    // Written by Hibernate as the discriminator; the DiscriminatorValue of each
+    // subclass is its ContentType name
     @Enumerated(EnumType.STRING)
-    @Column(name = "content_type", nullable = false)
+    @Column(name = "content_type", nullable = false, insertable = false, updatable = false)
     protected Content.ContentType contentType;
 
     @Column(name = "is_complete")
@@ -48,7 +69,8 @@ public abstract class Content implements HasID {
     protected Long moduleId;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "content_seq")
+    @SequenceGenerator(name = "content_seq", sequenceName = "content_seq", allocationSize = 50)
     protected Long id;
 
     // // Fields specific to Question content type
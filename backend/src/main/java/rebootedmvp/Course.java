@@ -9,6 +9,7 @@ import java.util.Set;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -20,19 +21,26 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.MapKey;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.SQLRestriction;
+import rebootedmvp.service.SearchIndexListener;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Inheritance(strategy = InheritanceType.JOINED) // or JOINED, TABLE_PER_CLASS
 // @DiscriminatorColumn(name = "course_type", discriminatorType =
 // DiscriminatorType.STRING)
 @Table(name = "courses")
+// Tombstoned rows are hidden from every entity query until purged
+@SQLRestriction("deleted_at IS NULL")
 public abstract class Course implements InfoContainer<Module> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     protected Long id;
 
     @Column(nullable = false)
@@ -50,6 +58,11 @@ public abstract class Course implements InfoContainer<Module> {
     @Column(name = "updated_at")
     protected LocalDateTime updatedAt;
 
+    // Set when the course is deleted; CoursePurgeWorker removes the row and
+    // everything under it later
+    @Column(name = "deleted_at")
+    protected LocalDateTime deletedAt;
+
     // One-to-Many relationship with ModuleEntityImpl
     // @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval =
     // true, fetch = FetchType.LAZY)
@@ -0,0 +1,11 @@
+package rebootedmvp;
+
+/**
+ * The role a user holds in a single course. A user who is both a teacher and a
+ * student of the same course is treated as a teacher.
+ */
+public enum CourseRole {
+    NONE,
+    STUDENT,
+    TEACHER
+}
@@ -1,15 +1,16 @@
 package rebootedmvp;
 
-import jakarta.persistence.Embeddable;
-
-@Embeddable
+/**
+ * One pair of a matching question, stored as an element of the question's
+ * JSONB matches column.
+ */
 public class Match {
 
     private String first;
 
     private String second;
 
-    // No-argument constructor required by JPA
+    // No-argument constructor required by Jackson
     public Match() {
     }
 
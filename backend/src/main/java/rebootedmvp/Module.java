@@ -7,6 +7,7 @@ import java.util.Map;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -15,17 +16,24 @@ import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.MapKey;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.SQLRestriction;
+import rebootedmvp.service.SearchIndexListener;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Inheritance(strategy = InheritanceType.JOINED) // or JOINED, TABLE_PER_CLASS
 @Table(name = "modules")
+// Tombstoned rows are hidden from every entity query until purged
+@SQLRestriction("deleted_at IS NULL")
 public abstract class Module implements InfoContainer<Content> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "modules_seq")
+    @SequenceGenerator(name = "modules_seq", sequenceName = "modules_seq", allocationSize = 50)
     protected Long id;
 
     @Column(name = "course_id", nullable = false)
@@ -46,6 +54,11 @@ public abstract class Module implements InfoContainer<Content> {
     @Column(name = "updated_at")
     protected LocalDateTime updatedAt;
 
+    // Set when the module is deleted; CoursePurgeWorker removes the row and
+    // everything under it later
+    @Column(name = "deleted_at")
+    protected LocalDateTime deletedAt;
+
     // One-to-Many relationship with ContentEntityImpl
     // Note: No cascade/orphanRemoval - deletion handled manually in service layer
     @OneToMany
@@ -11,6 +11,7 @@ import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -28,7 +29,8 @@ public abstract class Roster implements InfoContainer<Course> {
     @Column(columnDefinition = "TEXT")
     protected String body;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rosters_seq")
+    @SequenceGenerator(name = "rosters_seq", sequenceName = "rosters_seq", allocationSize = 50)
     protected Long id;
 
 }
\ No newline at end of file
@@ -5,10 +5,12 @@ import java.util.List;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Table;
+import rebootedmvp.service.SearchIndexListener;
 
 /**
  * An abstract interface to represent a user, which can be either a learning and
@@ -18,6 +20,7 @@ import jakarta.persistence.Table;
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
 @Table(name = "users")
+@EntityListeners(SearchIndexListener.class)
 public abstract class User {
 
     @Column(unique = true, nullable = false)
@@ -0,0 +1,94 @@
+package rebootedmvp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One-off migration of content from the old JOINED layout (one table per
+ * content type plus separate option / match tables) into the single content
+ * table. Hibernate's ddl-auto adds the new columns; this copies the data over
+ * and drops the legacy tables in one transaction, so it either completes or
+ * leaves the old layout untouched. Once the legacy tables are gone it is a
+ * no-op.
+ * Runs before the web server starts, like {@link IdSequenceMigration}, so no
+ * request reads content whose columns haven't been filled yet.
+ */
+@Component
+public class ContentTableMigration implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentTableMigration.class);
+
+    // Serializes the migration when several instances start at once
+    private static final long MIGRATION_LOCK_ID = 0x636f6e74656e74L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${content.legacy-migration.enabled:true}")
+    private boolean enabled;
+
+    public ContentTableMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, MIGRATION_LOCK_ID);
+            migrate();
+        });
+    }
+
+    private void migrate() {
+        copy("video_info",
+                "UPDATE content c SET video_url = v.video_url FROM video_info v WHERE v.id = c.id");
+        copy("image_info",
+                "UPDATE content c SET image_url = i.image_url FROM image_info i WHERE i.id = c.id");
+        copy("multiple_choice_question_info",
+                "UPDATE content c SET correct_answer = q.correct_answer "
+                        + "FROM multiple_choice_question_info q WHERE q.id = c.id");
+        // The old collections had no order column; physical order is the
+        // closest thing to insertion order
+        copy("multiple_choice_question_options",
+                "UPDATE content c SET options = o.options FROM ("
+                        + "SELECT content_id, jsonb_agg(option_text ORDER BY ctid) AS options "
+                        + "FROM multiple_choice_question_options GROUP BY content_id) o "
+                        + "WHERE o.content_id = c.id");
+        copy("matching_question_matches",
+                "UPDATE content c SET matches = m.matches FROM ("
+                        + "SELECT question_id, jsonb_agg(jsonb_build_object('first', first, 'second', second) "
+                        + "ORDER BY ctid) AS matches FROM matching_question_matches GROUP BY question_id) m "
+                        + "WHERE m.question_id = c.id");
+
+        // Collection tables reference the subtype tables, so they go first
+        for (String table : new String[] { "multiple_choice_question_options", "matching_question_matches",
+                "video_info", "image_info", "multiple_choice_question_info", "matching_question_info" }) {
+            if (exists(table)) {
+                jdbcTemplate.execute("DROP TABLE " + table);
+                logger.info("Dropped legacy content table {}", table);
+            }
+        }
+    }
+
+    private void copy(String legacyTable, String sql) {
+        if (exists(legacyTable)) {
+            int rows = jdbcTemplate.update(sql);
+            logger.info("Migrated {} content rows from legacy table {}", rows, legacyTable);
+        }
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+}
@@ -0,0 +1,76 @@
+package rebootedmvp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves ID generation of the tables that used IDENTITY columns onto the
+ * pooled sequences now mapped on their entities, which lets Hibernate batch
+ * inserts. For each table this drops the identity, points the column default
+ * at the sequence (so native inserts keep working) and moves the sequence
+ * past the highest existing ID. Idempotent; runs on every start.
+ * Runs once all singletons exist, i.e. after Hibernate's schema update has
+ * created the sequences but before the web server takes requests, so no
+ * insert can draw an ID below existing rows.
+ */
+@Component
+public class IdSequenceMigration implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceMigration.class);
+
+    // Serializes the migration when several instances start at once
+    private static final long MIGRATION_LOCK_ID = 0x69645f736571L;
+
+    // Must match allocationSize on the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    // Root table of each entity hierarchy and its sequence
+    private static final String[][] TABLES = {
+            { "courses", "courses_seq" },
+            { "modules", "modules_seq" },
+            { "content", "content_seq" },
+            { "rosters", "rosters_seq" } };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdSequenceMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, MIGRATION_LOCK_ID);
+            for (String[] table : TABLES) {
+                migrate(table[0], table[1]);
+            }
+        });
+    }
+
+    private void migrate(String table, String sequence) {
+        if (!exists(table)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " INCREMENT BY " + ALLOCATION_SIZE);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+        // The pooled optimizer hands out (value - ALLOCATION_SIZE, value], so
+        // the next value must be at least one allocation above the highest ID
+        Long next = jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST("
+                + "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + " + ALLOCATION_SIZE + ", "
+                + "(SELECT last_value FROM " + sequence + ")))", Long.class);
+        logger.debug("ID sequence {} for table {} at {}", sequence, table, next);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+}
@@ -0,0 +1,163 @@
+package rebootedmvp.config;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import rebootedmvp.domain.impl.UserProgress;
+import rebootedmvp.domain.impl.UserProgressId;
+
+/**
+ * One-off migration of progress from the old layout (one progress_pair row
+ * per module plus one boolean_entry row per content item) into the score
+ * array and completion bitmap on user_course_progress. Hibernate's ddl-auto
+ * adds the new columns; this packs each user's rows into them and drops the
+ * legacy tables in one transaction, so it either completes or leaves the old
+ * layout untouched. Once the legacy tables are gone it is a no-op.
+ * Runs before the web server starts, like {@link IdSequenceMigration}, so no
+ * request reads a row that hasn't been packed yet.
+ */
+@Component
+public class ProgressTableMigration implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressTableMigration.class);
+
+    // Serializes the migration when several instances start at once
+    private static final long MIGRATION_LOCK_ID = 0x70726f6772657373L;
+
+    private static final int BATCH_SIZE = 500;
+
+    // Pairs were in module ID order and entries in content order, both by ID
+    private static final String LEGACY_ROWS = "SELECT p.supabase_user_id, p.course_id, p.id AS pair_id, "
+            + "p.left_value, e.value FROM progress_pair p LEFT JOIN boolean_entry e ON e.pair_id = p.id "
+            + "ORDER BY p.course_id, p.supabase_user_id, p.id, e.id";
+
+    private static final String UPDATE_PROGRESS = "UPDATE user_course_progress SET module_scores = ?::float8[], "
+            + "module_sizes = ?::int[], completed = ? WHERE supabase_user_id = ? AND course_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${progress.legacy-migration.enabled:true}")
+    private boolean enabled;
+
+    public ProgressTableMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * The legacy rows of one user in one course, gathered module by module
+     */
+    private static final class LegacyProgress {
+
+        final UserProgressId id;
+        final List<Double> scores = new ArrayList<>();
+        final List<List<Boolean>> flags = new ArrayList<>();
+        long lastPairId;
+
+        LegacyProgress(UserProgressId id) {
+            this.id = id;
+        }
+
+        Object[] updateArgs() {
+            UserProgress progress = new UserProgress(id, flags.stream().mapToInt(List::size).toArray());
+            for (int module = 0; module < flags.size(); module++) {
+                progress.setModuleScore(module, scores.get(module));
+                for (int item = 0; item < flags.get(module).size(); item++) {
+                    if (flags.get(module).get(item)) {
+                        progress.setCompleted(module, item, true);
+                    }
+                }
+            }
+            return new Object[] { progress.getModuleScores(), progress.getModuleSizes(),
+                    progress.getCompletedBits(), id.getSupabaseUserId(), id.getCourseId() };
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, MIGRATION_LOCK_ID);
+            if (!exists("progress_pair")) {
+                return;
+            }
+            migrate();
+        });
+    }
+
+    private void migrate() {
+        List<Object[]> batch = new ArrayList<>();
+        LegacyProgress[] current = { null };
+        int[] migrated = { 0 };
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LEGACY_ROWS);
+            statement.setFetchSize(BATCH_SIZE * 10);
+            return statement;
+        }, rs -> {
+            UserProgressId id = new UserProgressId(rs.getString("supabase_user_id"), rs.getLong("course_id"));
+            LegacyProgress progress = current[0];
+            if (progress == null || !progress.id.getSupabaseUserId().equals(id.getSupabaseUserId())
+                    || !progress.id.getCourseId().equals(id.getCourseId())) {
+                if (progress != null) {
+                    batch.add(progress.updateArgs());
+                    migrated[0]++;
+                    if (batch.size() >= BATCH_SIZE) {
+                        jdbcTemplate.batchUpdate(UPDATE_PROGRESS, batch);
+                        batch.clear();
+                    }
+                }
+                progress = new LegacyProgress(id);
+                current[0] = progress;
+            }
+            long pairId = rs.getLong("pair_id");
+            if (progress.flags.isEmpty() || progress.lastPairId != pairId) {
+                progress.scores.add(rs.getDouble("left_value"));
+                progress.flags.add(new ArrayList<>());
+                progress.lastPairId = pairId;
+            }
+            boolean value = rs.getBoolean("value");
+            if (!rs.wasNull()) {
+                progress.flags.get(progress.flags.size() - 1).add(value);
+            }
+        });
+        if (current[0] != null) {
+            batch.add(current[0].updateArgs());
+            migrated[0]++;
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_PROGRESS, batch);
+        }
+
+        // Users in courses without modules had no pairs
+        int empty = jdbcTemplate.update("UPDATE user_course_progress SET module_scores = '{}', "
+                + "module_sizes = '{}', completed = ''::bytea WHERE module_sizes IS NULL");
+        logger.info("Migrated progress of {} users in courses ({} without modules) from legacy tables",
+                migrated[0], empty);
+
+        // Entries reference pairs, so they go first
+        jdbcTemplate.execute("DROP TABLE boolean_entry");
+        jdbcTemplate.execute("DROP TABLE progress_pair");
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS boolean_entry_seq");
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS progress_pair_seq");
+        logger.info("Dropped legacy progress tables boolean_entry and progress_pair");
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+}
@@ -1,7 +1,6 @@
 package rebootedmvp.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -11,16 +10,29 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
-import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
 import org.springframework.security.web.SecurityFilterChain;
+import rebootedmvp.controller.PagedResponses;
 import rebootedmvp.security.JwtAuthenticationFilter;
+import rebootedmvp.security.SupabaseJwksCache;
+import rebootedmvp.security.SupabaseJwtDecoder;
+import rebootedmvp.security.VerifiedTokenCache;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -32,8 +44,11 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    @Value("${supabase.project-url}")
-    private String supabaseProjectUrl;
+    @Autowired
+    private SupabaseConfig supabaseConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -59,18 +74,40 @@ public class SecurityConfig {
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        // Use JWKS endpoint for ES256 validation with Supabase's public keys
-        String jwksUri = supabaseProjectUrl + "/auth/v1/.well-known/jwks.json";
-        
-        NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(jwksUri)
-                .jwsAlgorithm(SignatureAlgorithm.ES256)
-                .build();
-        
-        // Configure to only validate timestamp (not issuer/audience which may cause Supabase tokens to fail)
-        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
-            new JwtTimestampValidator()
-        ));
-        
+        // HS256 tokens are verified locally with the project secret; everything
+        // else falls through to Supabase's JWKS public keys
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(supabaseConfig.getJwtCacheMaximumSize(),
+                Duration.ofSeconds(supabaseConfig.getJwtCacheMaxTtlSeconds()), meterRegistry);
+        return new SupabaseJwtDecoder(supabaseConfig, jwksDecoder(), tokenCache);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public SupabaseJwksCache supabaseJwksCache() {
+        // Supabase's public keys for ES256 tokens, prefetched and refreshed in the background
+        URL jwksUrl;
+        try {
+            jwksUrl = URI.create(supabaseConfig.getProjectUrl() + "/auth/v1/.well-known/jwks.json").toURL();
+        } catch (IllegalArgumentException | MalformedURLException e) {
+            throw new IllegalStateException("Invalid supabase.project-url: " + supabaseConfig.getProjectUrl(), e);
+        }
+        return new SupabaseJwksCache(jwksUrl,
+                Duration.ofSeconds(supabaseConfig.getJwksRefreshIntervalSeconds()),
+                Duration.ofSeconds(supabaseConfig.getJwksUnknownKidCooldownSeconds()),
+                meterRegistry);
+    }
+
+    private JwtDecoder jwksDecoder() {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.ES256, supabaseJwksCache()));
+        // Claims (exp/iat/aud) are validated by SupabaseJwtDecoder for both paths
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        jwtProcessor.setJWSTypeVerifier((type, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
+        decoder.setJwtValidator(jwt -> OAuth2TokenValidatorResult.success());
+
         return decoder;
     }
 
@@ -104,7 +141,7 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", PagedResponses.NEXT_CURSOR_HEADER));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -1,8 +1,14 @@
 package rebootedmvp.config;
 
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.SecretKey;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import io.jsonwebtoken.security.Keys;
+
 @Configuration
 @ConfigurationProperties(prefix = "supabase")
 public class SupabaseConfig {
@@ -12,6 +18,27 @@ public class SupabaseConfig {
     private String anonKey;
     private String serviceRoleKey;
 
+    // Expected "aud" claim on user access tokens. Blank disables the check.
+    private String jwtAudience = "authenticated";
+
+    // Tolerance applied to exp/iat checks to absorb clock drift with Supabase
+    private long jwtClockSkewSeconds = 60;
+
+    // Fraction (0.0 - 1.0) of verified tokens that are also checked against
+    // /auth/v1/user to catch revoked sessions. 0 disables the remote call.
+    private double revocationCheckSampleRate = 0.0;
+
+    // How often the cached JWKS signing keys are refreshed in the background
+    private long jwksRefreshIntervalSeconds = 300;
+
+    // Minimum gap between refetches triggered by tokens with an unknown "kid"
+    private long jwksUnknownKidCooldownSeconds = 30;
+
+    // Verified tokens are cached until exp, capped at this TTL
+    private long jwtCacheMaxTtlSeconds = 300;
+
+    private long jwtCacheMaximumSize = 10_000;
+
     public String getProjectUrl() {
         return projectUrl;
     }
@@ -43,4 +70,80 @@ public class SupabaseConfig {
     public void setServiceRoleKey(String serviceRoleKey) {
         this.serviceRoleKey = serviceRoleKey;
     }
-}
\ No newline at end of file
+
+    public String getJwtAudience() {
+        return jwtAudience;
+    }
+
+    public void setJwtAudience(String jwtAudience) {
+        this.jwtAudience = jwtAudience;
+    }
+
+    public long getJwtClockSkewSeconds() {
+        return jwtClockSkewSeconds;
+    }
+
+    public void setJwtClockSkewSeconds(long jwtClockSkewSeconds) {
+        this.jwtClockSkewSeconds = jwtClockSkewSeconds;
+    }
+
+    public double getRevocationCheckSampleRate() {
+        return revocationCheckSampleRate;
+    }
+
+    public void setRevocationCheckSampleRate(double revocationCheckSampleRate) {
+        this.revocationCheckSampleRate = revocationCheckSampleRate;
+    }
+
+    public long getJwksRefreshIntervalSeconds() {
+        return jwksRefreshIntervalSeconds;
+    }
+
+    public void setJwksRefreshIntervalSeconds(long jwksRefreshIntervalSeconds) {
+        this.jwksRefreshIntervalSeconds = jwksRefreshIntervalSeconds;
+    }
+
+    public long getJwksUnknownKidCooldownSeconds() {
+        return jwksUnknownKidCooldownSeconds;
+    }
+
+    public void setJwksUnknownKidCooldownSeconds(long jwksUnknownKidCooldownSeconds) {
+        this.jwksUnknownKidCooldownSeconds = jwksUnknownKidCooldownSeconds;
+    }
+
+    public long getJwtCacheMaxTtlSeconds() {
+        return jwtCacheMaxTtlSeconds;
+    }
+
+    public void setJwtCacheMaxTtlSeconds(long jwtCacheMaxTtlSeconds) {
+        this.jwtCacheMaxTtlSeconds = jwtCacheMaxTtlSeconds;
+    }
+
+    public long getJwtCacheMaximumSize() {
+        return jwtCacheMaximumSize;
+    }
+
+    public void setJwtCacheMaximumSize(long jwtCacheMaximumSize) {
+        this.jwtCacheMaximumSize = jwtCacheMaximumSize;
+    }
+
+    /**
+     * Returns the HMAC key derived from the configured JWT secret, or null if no
+     * secret is configured. Supabase signs HS256 tokens with the secret's raw
+     * UTF-8 bytes, even when the secret looks like base64, so it is never
+     * decoded. Short secrets are zero-padded to the 256-bit HS256 minimum,
+     * which HMAC does to keys shorter than its block size anyway.
+     */
+    public SecretKey hmacSigningKey() {
+        if (jwtSecret == null || jwtSecret.isBlank()) {
+            return null;
+        }
+        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < 32) {
+            byte[] paddedKey = new byte[32];
+            System.arraycopy(keyBytes, 0, paddedKey, 0, keyBytes.length);
+            keyBytes = paddedKey;
+        }
+        return Keys.hmacShaKeyFor(keyBytes);
+    }
+}
@@ -13,7 +13,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import rebootedmvp.dto.ContentDTO;
 import rebootedmvp.dto.NewContentDTO;
@@ -34,13 +36,23 @@ public class ContentController {
     private ContentService contentService;
 
     @GetMapping
-    public ResponseEntity<List<ContentDTO>> getAllContent() {
-        List<ContentDTO> content = contentService.findAll();
-        return ResponseEntity.ok(content);
+    public ResponseEntity<List<ContentDTO>> getAllContent(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        try {
+            if (contentService.getAllVersion(cursor, limit).checkNotModified(request)) {
+                return null;
+            }
+            return PagedResponses.ok(contentService.findAll(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ContentDTO> getContentById(@PathVariable Long id) {
+    public ResponseEntity<ContentDTO> getContentById(@PathVariable Long id, WebRequest request) {
+        if (contentService.getVersion(id).checkNotModified(request)) {
+            return null;
+        }
         ContentDTO content = contentService.findById(id);
         if (content == null) {
             return ResponseEntity.notFound().build();
@@ -49,7 +61,10 @@ public class ContentController {
     }
 
     @GetMapping("/module/{moduleId}")
-    public ResponseEntity<List<ContentDTO>> getContentByModuleId(@PathVariable Long moduleId) {
+    public ResponseEntity<List<ContentDTO>> getContentByModuleId(@PathVariable Long moduleId, WebRequest request) {
+        if (contentService.getModuleVersion(moduleId).checkNotModified(request)) {
+            return null;
+        }
         List<ContentDTO> content = contentService.findByModuleId(moduleId);
         return ResponseEntity.ok(content);
     }
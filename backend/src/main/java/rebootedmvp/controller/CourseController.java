@@ -1,9 +1,12 @@
 package rebootedmvp.controller;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,8 +16,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import rebootedmvp.dto.ModuleDTO;
 import rebootedmvp.dto.NewModuleDTO;
@@ -24,6 +30,7 @@ import rebootedmvp.repository.CourseRepository;
 import rebootedmvp.repository.UserProfileRepository;
 import rebootedmvp.service.CourseMembershipService;
 import rebootedmvp.service.CourseService;
+import rebootedmvp.service.PublishedCourseSnapshotCache.CourseSnapshot;
 
 @RestController
 @RequestMapping("/api/courses/{courseId}")
@@ -39,8 +46,11 @@ public class CourseController {
     private UserProfileRepository userProfileRepository;
 
     @GetMapping
-    public ResponseEntity<List<ModuleDTO>> getAllModules(@PathVariable Long courseId) {
+    public ResponseEntity<List<ModuleDTO>> getAllModules(@PathVariable Long courseId, WebRequest request) {
         try {
+            if (courseService.getModulesVersion(courseId).checkNotModified(request)) {
+                return null;
+            }
             return ResponseEntity.ok(courseService.getById(courseId));
         } catch (UnauthorizedAccessException | UserNotAuthenticatedException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -49,9 +59,46 @@ public class CourseController {
         }
     }
 
+    @GetMapping("/tree")
+    public ResponseEntity<?> getCourseTree(@PathVariable Long courseId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        boolean acceptsGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        try {
+            if (courseService.getTreeVersion(courseId, acceptsGzip).checkNotModified(request)) {
+                return null;
+            }
+
+            // Published courses are served from their pre-serialized snapshot
+            Optional<CourseSnapshot> snapshot = courseService.getPublishedTreeSnapshot(courseId);
+            if (snapshot.isPresent()) {
+                return snapshotResponse(snapshot.get(), acceptsGzip);
+            }
+            return ResponseEntity.ok(courseService.getTree(courseId));
+        } catch (UnauthorizedAccessException | UserNotAuthenticatedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).build();
+        }
+    }
+
+    private static ResponseEntity<byte[]> snapshotResponse(CourseSnapshot snapshot, boolean acceptsGzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.hasGzipped() && acceptsGzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzipped());
+        }
+        return response.body(snapshot.json());
+    }
+
     @GetMapping("/module/{moduleId}")
-    public ResponseEntity<ModuleDTO> getModuleById(@PathVariable Long courseId, @PathVariable Long moduleId) {
+    public ResponseEntity<ModuleDTO> getModuleById(@PathVariable Long courseId, @PathVariable Long moduleId,
+            WebRequest request) {
         try {
+            if (courseService.getModuleVersion(courseId, moduleId).checkNotModified(request)) {
+                return null;
+            }
             return ResponseEntity.ok(courseService.getById(courseId, moduleId));
         } catch (UnauthorizedAccessException | UserNotAuthenticatedException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
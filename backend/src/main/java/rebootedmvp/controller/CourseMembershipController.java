@@ -11,9 +11,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import rebootedmvp.CourseDoesNotExistException;
 import rebootedmvp.User;
+import rebootedmvp.dto.EnrollmentResultDTO;
 import rebootedmvp.dto.StudentDTO;
 import rebootedmvp.dto.TeacherDTO;
 import rebootedmvp.dto.UserCourseDTO;
@@ -46,9 +49,13 @@ public class CourseMembershipController {
     }
 
     @GetMapping("/user/{userId}/courses")
-    public ResponseEntity<List<UserCourseDTO>> getUserCourses(@PathVariable String userId) {
-        List<UserCourseDTO> courses = courseMembershipService.getUserCourses(userId);
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<List<UserCourseDTO>> getUserCourses(@PathVariable String userId,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit) {
+        try {
+            return PagedResponses.ok(courseMembershipService.getUserCourses(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/user/{userId}/published")
@@ -101,6 +108,30 @@ public class CourseMembershipController {
         }
     }
 
+    /**
+     * Enrolls a list of usernames as teachers or students in one batch and
+     * reports the outcome per username, e.g. for pasted rosters.
+     */
+    @PostMapping("/course/{courseId}/enroll")
+    public ResponseEntity<List<EnrollmentResultDTO>> enrollUsers(
+            @PathVariable Long courseId,
+            @RequestParam User.UserType role,
+            @RequestBody Map<String, List<String>> request) {
+        List<String> usernames = request.get("usernames");
+
+        if (usernames == null || usernames.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(courseMembershipService.enrollUsers(courseId, usernames, role));
+        } catch (CourseDoesNotExistException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("/course/{courseId}/students")
     public ResponseEntity<String> addStudentsToCourse(
             @PathVariable Long courseId,
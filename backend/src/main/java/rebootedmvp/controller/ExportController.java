@@ -0,0 +1,68 @@
+package rebootedmvp.controller;
+
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import rebootedmvp.exception.UnauthorizedAccessException;
+import rebootedmvp.exception.UserNotAuthenticatedException;
+import rebootedmvp.service.ExportFormat;
+import rebootedmvp.service.ExportService;
+
+/**
+ * Admin-only bulk exports, streamed as NDJSON (default) or CSV via
+ * ?format=ndjson|csv.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        return export("users", format, exportService::exportUsers);
+    }
+
+    @GetMapping("/progress")
+    public ResponseEntity<StreamingResponseBody> exportProgress(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        return export("progress", format, exportService::exportProgress);
+    }
+
+    @GetMapping("/content")
+    public ResponseEntity<StreamingResponseBody> exportContent(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        return export("content", format, exportService::exportContent);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, String format,
+            Function<ExportFormat, StreamingResponseBody> exporter) {
+        try {
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            StreamingResponseBody body = exporter.apply(exportFormat);
+            ContentDisposition disposition = ContentDisposition.attachment()
+                    .filename(name + "." + exportFormat.getExtension())
+                    .build();
+            return ResponseEntity.ok()
+                    .contentType(exportFormat.getMediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnauthorizedAccessException | UserNotAuthenticatedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+}
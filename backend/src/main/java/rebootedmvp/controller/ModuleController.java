@@ -13,7 +13,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import rebootedmvp.dto.ContentDTO;
 import rebootedmvp.dto.NewContentDTO;
@@ -32,12 +34,25 @@ public class ModuleController {
     private ModuleService moduleService;
 
     @GetMapping
-    public ResponseEntity<List<ContentDTO>> getAllContents(@PathVariable Long moduleId) {
-        return ResponseEntity.ok(moduleService.findAll());
+    public ResponseEntity<List<ContentDTO>> getAllContents(@PathVariable Long moduleId,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        try {
+            if (moduleService.getAllVersion(cursor, limit).checkNotModified(request)) {
+                return null;
+            }
+            return PagedResponses.ok(moduleService.findAll(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/content/{contentId}")
-    public ResponseEntity<ContentDTO> getContentById(@PathVariable Long moduleId, @PathVariable Long contentId) {
+    public ResponseEntity<ContentDTO> getContentById(@PathVariable Long moduleId, @PathVariable Long contentId,
+            WebRequest request) {
+        if (moduleService.getVersion(moduleId, contentId).checkNotModified(request)) {
+            return null;
+        }
         ContentDTO con = moduleService.getById(moduleId, contentId);
         if (con == null) {
             return ResponseEntity.notFound().build();
@@ -0,0 +1,28 @@
+package rebootedmvp.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import rebootedmvp.dto.CursorPage;
+
+/**
+ * Writes keyset pages as a plain JSON array, with the continuation cursor in
+ * the X-Next-Cursor header when another page follows. The next page is
+ * requested by passing that value back as the 'cursor' query parameter.
+ */
+public final class PagedResponses {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PagedResponses() {
+    }
+
+    public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
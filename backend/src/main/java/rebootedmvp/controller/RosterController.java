@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,14 +16,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import rebootedmvp.User;
 import rebootedmvp.domain.impl.RosterEntityImpl;
 import rebootedmvp.domain.impl.UserProfileImpl;
 import rebootedmvp.dto.CourseDTO;
+import rebootedmvp.dto.CourseImportDTO;
+import rebootedmvp.dto.CourseImportResultDTO;
 import rebootedmvp.dto.NewCourseDTO;
 import rebootedmvp.dto.NewRosterDTO;
+import rebootedmvp.exception.UserNotAuthenticatedException;
 import rebootedmvp.repository.UserProfileRepository;
 import rebootedmvp.service.AuthorizationService;
 import rebootedmvp.service.CourseMembershipService;
@@ -55,14 +61,25 @@ public class RosterController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
-        return ResponseEntity.ok(rosterService.findAll());
+    public ResponseEntity<List<CourseDTO>> getAllCourses(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        try {
+            if (rosterService.getAllVersion(cursor, limit).checkNotModified(request)) {
+                return null;
+            }
+            return PagedResponses.ok(rosterService.findAll(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{courseId}")
-    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long courseId) {
+    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long courseId, WebRequest request) {
 
         try {
+            if (rosterService.getVersion(courseId).checkNotModified(request)) {
+                return null;
+            }
             CourseDTO course = rosterService.getById(courseId);
             return ResponseEntity.ok(course);
         } catch (Exception e) {
@@ -88,6 +105,21 @@ public class RosterController {
         }
     }
 
+    /**
+     * Creates a course with all its modules and content from one document and
+     * returns the IDs assigned to each, in document order.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<CourseImportResultDTO> importCourse(@RequestBody CourseImportDTO courseImportDTO) {
+        try {
+            return ResponseEntity.ok(rosterService.importCourse(courseImportDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UserNotAuthenticatedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
     @PutMapping("/update/{id}")
     public void updateCourse(@PathVariable Long id, @RequestBody NewCourseDTO updateCourseDTO) {
         rosterService.update(Long.valueOf(0), id, updateCourseDTO);
@@ -97,7 +129,7 @@ public class RosterController {
     public ResponseEntity<Void> deleteCourse(@PathVariable Long id) {
         boolean deleted = rosterService.delete(Long.valueOf(0), id);
         if (deleted) {
-            courseMembershipService.removeAllUsersFromCourse(id);
+            // Memberships go with the course when CoursePurgeWorker purges it
             return ResponseEntity.noContent().build();
 
         } else {
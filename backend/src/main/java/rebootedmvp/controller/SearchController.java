@@ -0,0 +1,36 @@
+package rebootedmvp.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import rebootedmvp.dto.SearchResultDTO;
+import rebootedmvp.exception.UnauthorizedAccessException;
+import rebootedmvp.exception.UserNotAuthenticatedException;
+import rebootedmvp.service.SearchService;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<List<SearchResultDTO>> search(@RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(searchService.search(query, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnauthorizedAccessException | UserNotAuthenticatedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+}
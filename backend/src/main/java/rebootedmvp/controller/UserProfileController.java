@@ -1,7 +1,9 @@
 package rebootedmvp.controller;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import rebootedmvp.dto.NewAdminDTO;
@@ -40,9 +43,13 @@ public class UserProfileController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserProfileDTO>> getAllUsers() {
-        List<UserProfileDTO> users = userProfileService.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserProfileDTO>> getAllUsers(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return PagedResponses.ok(userProfileService.findAll(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PostMapping("/addTeacher")
@@ -103,15 +110,26 @@ public class UserProfileController {
             return ResponseEntity.badRequest().build();
         }
 
-        List<String> validUsernames = userProfileService.validateUsernames(usernames);
+        Set<String> validUsernames = new HashSet<>(userProfileService.validateUsernames(usernames));
         Map<String, Boolean> result = usernames.stream()
                 .collect(java.util.stream.Collectors.toMap(
                         username -> username,
-                        validUsernames::contains));
+                        validUsernames::contains,
+                        (first, duplicate) -> first));
 
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<UserProfileDTO>> searchUsers(@RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(userProfileService.searchUsers(query, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("/search")
     public ResponseEntity<List<UserProfileDTO>> searchUsersByUsernames(@RequestBody Map<String, List<String>> request) {
         List<String> usernames = request.get("usernames");
@@ -60,7 +60,9 @@ public class UserProgressController {
     }
 
     // @GetMapping
-    // public ResponseEntity<List<UserProgress>> getAllProgress() {
-    // return ResponseEntity.ok(userProgressService.getAllProgress());
+    // public ResponseEntity<List<UserProgressDTO>> getAllProgress(
+    // @RequestParam(required = false) String cursor,
+    // @RequestParam(required = false) Integer limit) {
+    // return PagedResponses.ok(userProgressService.getAllProgress(cursor, limit));
     // }
 }
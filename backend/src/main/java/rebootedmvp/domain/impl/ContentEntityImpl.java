@@ -15,11 +15,6 @@ import rebootedmvp.Module;
  * proper database mapping.
  */
 @Entity
-// @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
-// @DiscriminatorColumn(name = "content_type", discriminatorType =
-// DiscriminatorType.STRING)
-// @DiscriminatorValue("CONTENT")
-
 public abstract class ContentEntityImpl extends Content {
 
     @PrePersist
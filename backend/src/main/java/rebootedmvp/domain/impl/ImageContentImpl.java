@@ -1,14 +1,14 @@
 package rebootedmvp.domain.impl;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "Image_Info")
+@DiscriminatorValue("Image")
 public class ImageContentImpl extends ContentEntityImpl {
 
-    @Column(name = "image_url", nullable = false)
+    @Column(name = "image_url")
     private String URL;
 
     public ImageContentImpl(String title, String body, String URL) {
@@ -3,23 +3,22 @@ package rebootedmvp.domain.impl;
 import java.util.ArrayList;
 import java.util.List;
 
-import jakarta.persistence.CollectionTable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Table;
 import rebootedmvp.Match;
 
 @Entity
-// @DiscriminatorValue("QUESTION")
-@Table(name = "Matching_Question_Info")
+@DiscriminatorValue("MatchingQuestion")
 public class MatchingQuestionContentImpl extends ContentEntityImpl {
 
     // private String questionText;
 
-    @ElementCollection
-    @CollectionTable(name = "matching_question_matches", joinColumns = @JoinColumn(name = "question_id"))
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "matches", columnDefinition = "jsonb")
     private List<Match> matches;
 
     public MatchingQuestionContentImpl() {
@@ -57,7 +56,7 @@ public class MatchingQuestionContentImpl extends ContentEntityImpl {
     }
 
     public List<Match> getMatches() {
-        return new ArrayList<>(matches);
+        return matches != null ? new ArrayList<>(matches) : new ArrayList<>();
     }
 
     public void setMatches(List<Match> matches) {
@@ -3,16 +3,15 @@ package rebootedmvp.domain.impl;
 import java.util.ArrayList;
 import java.util.List;
 
-import jakarta.persistence.CollectionTable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Table;
 
 @Entity
-// @DiscriminatorValue("QUESTION")
-@Table(name = "Multiple_Choice_Question_Info")
+@DiscriminatorValue("MultipleChoiceQuestion")
 public class MultipleChoiceQuestionContentImpl extends ContentEntityImpl {
 
     // private String questionText;
@@ -20,9 +19,8 @@ public class MultipleChoiceQuestionContentImpl extends ContentEntityImpl {
     @Column(name = "correct_answer")
     private String correctAnswer;
 
-    @ElementCollection
-    @CollectionTable(name = "multiple_choice_question_options", joinColumns = @JoinColumn(name = "content_id"))
-    @Column(name = "option_text")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "options", columnDefinition = "jsonb")
     private List<String> options;
 
     public MultipleChoiceQuestionContentImpl() {
@@ -70,7 +68,7 @@ public class MultipleChoiceQuestionContentImpl extends ContentEntityImpl {
     }
 
     public List<String> getOptions() {
-        return new ArrayList<>(options);
+        return options != null ? new ArrayList<>(options) : new ArrayList<>();
     }
 
     public void setOptions(List<String> options) {
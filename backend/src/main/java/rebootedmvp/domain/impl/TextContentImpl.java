@@ -2,11 +2,12 @@ package rebootedmvp.domain.impl;
 
 import java.util.List;
 
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import rebootedmvp.Content;
 
 @Entity
-// @jakarta.persistence.DiscriminatorValue("TEXT")
+@DiscriminatorValue("Text")
 public class TextContentImpl extends ContentEntityImpl {
     public TextContentImpl(String title, String body) {
         // this.id = id;
@@ -1,34 +1,64 @@
 package rebootedmvp.domain.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
-import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
+/**
+ * A user's progress through one course, in a single row. Modules are kept in
+ * module ID order; for each there is a score and a completion flag per content
+ * item. The flags of all modules are packed into one bitmap, module after
+ * module, so module i's flags start at the sum of the sizes before it.
+ */
 @Entity
 @Table(name = "user_course_progress")
 public class UserProgress {
 
+    private static final int[] NO_SIZES = {};
+    private static final byte[] NO_BITS = {};
+
     @EmbeddedId
     private UserProgressId id;
 
     @Column(name = "total_progress", nullable = false)
     private double totalProgress;
 
-    @OneToMany(mappedBy = "userCourseProgress", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<PairImpl> progress;
+    // Per-module score, in module ID order
+    @Column(name = "module_scores")
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private double[] moduleScores;
+
+    // Content items per module, in module ID order
+    @Column(name = "module_sizes")
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private int[] moduleSizes;
+
+    // Completion flags, bit i in byte i / 8 at position i % 8
+    @Column(name = "completed")
+    private byte[] completed;
 
     public UserProgress() {
     }
 
-    public UserProgress(UserProgressId id, double totalProgress, List<PairImpl> progress) {
+    /**
+     * Creates empty progress for modules with the given numbers of content
+     * items, in module ID order.
+     */
+    public UserProgress(UserProgressId id, int[] moduleSizes) {
         this.id = id;
-        this.totalProgress = totalProgress;
-        this.progress = progress;
+        this.totalProgress = 0.0;
+        this.moduleSizes = moduleSizes.clone();
+        this.moduleScores = new double[moduleSizes.length];
+        this.completed = new byte[(Arrays.stream(moduleSizes).sum() + 7) / 8];
     }
 
     public UserProgressId getId() {
@@ -47,11 +77,179 @@ public class UserProgress {
         this.totalProgress = totalProgress;
     }
 
-    public List<PairImpl> getProgress() {
-        return progress;
+    public int getModuleCount() {
+        return sizes().length;
+    }
+
+    public double getModuleScore(int module) {
+        Objects.checkIndex(module, getModuleCount());
+        return moduleScores == null ? 0.0 : moduleScores[module];
+    }
+
+    public void setModuleScore(int module, double score) {
+        Objects.checkIndex(module, getModuleCount());
+        double[] scores = moduleScores == null ? new double[getModuleCount()] : moduleScores.clone();
+        scores[module] = score;
+        moduleScores = scores;
+    }
+
+    /**
+     * Returns the completion flags of module 'module', one per content item
+     */
+    public List<Boolean> getCompleted(int module) {
+        int start = offset(module);
+        List<Boolean> flags = new ArrayList<>(sizes()[module]);
+        for (int i = 0; i < sizes()[module]; i++) {
+            flags.add(bit(start + i));
+        }
+        return flags;
+    }
+
+    public boolean isCompleted(int module, int item) {
+        Objects.checkIndex(item, sizes()[Objects.checkIndex(module, getModuleCount())]);
+        return bit(offset(module) + item);
+    }
+
+    public void setCompleted(int module, int item, boolean value) {
+        Objects.checkIndex(item, sizes()[Objects.checkIndex(module, getModuleCount())]);
+        int index = offset(module) + item;
+        // Replaced rather than modified in place, so the change is always
+        // seen as dirty
+        byte[] bits = Arrays.copyOf(bits(), Math.max(bits().length, index / 8 + 1));
+        if (value) {
+            bits[index / 8] |= (byte) (1 << (index % 8));
+        } else {
+            bits[index / 8] &= (byte) ~(1 << (index % 8));
+        }
+        completed = bits;
+    }
+
+    /**
+     * Inserts an empty module at position 'module'; it and later modules move
+     * down one place.
+     */
+    public void insertModule(int module) {
+        Objects.checkIndex(module, getModuleCount() + 1);
+        // An empty module has no flags, so the bitmap stays as it is
+        moduleScores = with(getModuleScores(), module, 0.0);
+        moduleSizes = with(sizes(), module, 0);
+    }
+
+    /**
+     * Drops module 'module' with its score and flags; later modules move up
+     * one place.
+     */
+    public void removeModule(int module) {
+        int[] sizes = sizes();
+        Objects.checkIndex(module, sizes.length);
+        completed = splice(offset(module), sizes[module], 0);
+        moduleScores = without(getModuleScores(), module);
+        moduleSizes = without(sizes, module);
+    }
+
+    /**
+     * Inserts an uncompleted item at position 'item' of module 'module'; it
+     * and later items move down one place.
+     */
+    public void insertItem(int module, int item) {
+        int[] sizes = sizes().clone();
+        Objects.checkIndex(item, sizes[Objects.checkIndex(module, sizes.length)] + 1);
+        completed = splice(offset(module) + item, 0, 1);
+        sizes[module]++;
+        moduleSizes = sizes;
+    }
+
+    /**
+     * Drops item 'item' of module 'module' with its flag; later items move up
+     * one place.
+     */
+    public void removeItem(int module, int item) {
+        int[] sizes = sizes().clone();
+        Objects.checkIndex(item, sizes[Objects.checkIndex(module, sizes.length)]);
+        completed = splice(offset(module) + item, 1, 0);
+        sizes[module]--;
+        moduleSizes = sizes;
+    }
+
+    public int[] getModuleSizes() {
+        return sizes().clone();
+    }
+
+    public double[] getModuleScores() {
+        return moduleScores == null ? new double[getModuleCount()] : moduleScores.clone();
+    }
+
+    public byte[] getCompletedBits() {
+        return bits().clone();
+    }
+
+    private int[] sizes() {
+        return moduleSizes == null ? NO_SIZES : moduleSizes;
+    }
+
+    private byte[] bits() {
+        return completed == null ? NO_BITS : completed;
+    }
+
+    private int offset(int module) {
+        Objects.checkIndex(module, getModuleCount());
+        int start = 0;
+        for (int i = 0; i < module; i++) {
+            start += sizes()[i];
+        }
+        return start;
+    }
+
+    // Bits past the end of the bitmap read as unset
+    private boolean bit(int index) {
+        byte[] bits = bits();
+        return index / 8 < bits.length && (bits[index / 8] & (1 << (index % 8))) != 0;
+    }
+
+    // A copy of the bitmap with 'removed' flags at 'at' dropped and 'inserted'
+    // unset flags put in their place; must run before the sizes change
+    private byte[] splice(int at, int removed, int inserted) {
+        int total = Arrays.stream(sizes()).sum();
+        byte[] bits = new byte[(total - removed + inserted + 7) / 8];
+        for (int i = 0; i < total; i++) {
+            if (i >= at && i < at + removed) {
+                continue;
+            }
+            int to = i < at ? i : i - removed + inserted;
+            if (bit(i)) {
+                bits[to / 8] |= (byte) (1 << (to % 8));
+            }
+        }
+        return bits;
+    }
+
+    private static int[] with(int[] values, int index, int value) {
+        int[] result = new int[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    private static double[] with(double[] values, int index, double value) {
+        double[] result = new double[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    private static int[] without(int[] values, int index) {
+        int[] result = new int[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
     }
 
-    public void setProgress(List<PairImpl> progress) {
-        this.progress = progress;
+    private static double[] without(double[] values, int index) {
+        double[] result = new double[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
     }
 }
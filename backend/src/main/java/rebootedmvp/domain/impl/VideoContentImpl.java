@@ -1,16 +1,16 @@
 package rebootedmvp.domain.impl;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "Video_Info")
+@DiscriminatorValue("Video")
 public class VideoContentImpl extends ContentEntityImpl {
 
     // private String questionText;
 
-    @Column(name = "video_url", nullable = false)
+    @Column(name = "video_url")
     private String videoUrl;
 
     public VideoContentImpl() {
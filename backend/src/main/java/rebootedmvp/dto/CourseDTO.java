@@ -1,6 +1,6 @@
 package rebootedmvp.dto;
 
-import rebootedmvp.Course;
+import rebootedmvp.repository.CourseSummary;
 
 public class CourseDTO {
 
@@ -11,13 +11,13 @@ public class CourseDTO {
     private int studentCount;
     private int moduleCount;
 
-    public CourseDTO(Course c) {
-        id = c.getId();
-        title = c.getTitle();
-        body = c.getBody();
-        teacherCount = c.getTeachers().size();
-        studentCount = c.getStudents().size();
-        moduleCount = c.getAll().size();
+    public CourseDTO(CourseSummary summary) {
+        id = summary.getId();
+        title = summary.getTitle();
+        body = summary.getBody();
+        teacherCount = summary.getTeacherCount();
+        studentCount = summary.getStudentCount();
+        moduleCount = summary.getModuleCount();
     }
 
     public CourseDTO(Long id, String title, String body, int moduleCount) {
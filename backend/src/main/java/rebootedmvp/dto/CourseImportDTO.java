@@ -0,0 +1,52 @@
+package rebootedmvp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A whole new course with its modules and their content, created in one
+ * request by {@code POST /api/roster/import}.
+ */
+public class CourseImportDTO implements NewDTO {
+
+    private String title;
+    private String body;
+    private List<ModuleImportDTO> modules = new ArrayList<>();
+
+    public CourseImportDTO() {
+    }
+
+    public CourseImportDTO(String title, String body, List<ModuleImportDTO> modules) {
+        this.title = title;
+        this.body = body;
+        this.modules = modules;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @Override
+    public String getBody() {
+        return body;
+    }
+
+    @Override
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public List<ModuleImportDTO> getModules() {
+        return modules;
+    }
+
+    public void setModules(List<ModuleImportDTO> modules) {
+        this.modules = modules;
+    }
+}
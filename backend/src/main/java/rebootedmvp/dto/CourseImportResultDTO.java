@@ -0,0 +1,47 @@
+package rebootedmvp.dto;
+
+import java.util.List;
+
+/**
+ * The IDs assigned by a course import, in document order: moduleIds.get(i) is
+ * the i-th module and contentIds.get(i).get(j) the j-th content item in it.
+ */
+public class CourseImportResultDTO {
+
+    private Long courseId;
+    private List<Long> moduleIds;
+    private List<List<Long>> contentIds;
+
+    public CourseImportResultDTO() {
+    }
+
+    public CourseImportResultDTO(Long courseId, List<Long> moduleIds, List<List<Long>> contentIds) {
+        this.courseId = courseId;
+        this.moduleIds = moduleIds;
+        this.contentIds = contentIds;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public List<Long> getModuleIds() {
+        return moduleIds;
+    }
+
+    public void setModuleIds(List<Long> moduleIds) {
+        this.moduleIds = moduleIds;
+    }
+
+    public List<List<Long>> getContentIds() {
+        return contentIds;
+    }
+
+    public void setContentIds(List<List<Long>> contentIds) {
+        this.contentIds = contentIds;
+    }
+}
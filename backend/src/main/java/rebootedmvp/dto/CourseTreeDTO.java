@@ -0,0 +1,27 @@
+package rebootedmvp.dto;
+
+import java.util.List;
+
+import rebootedmvp.repository.CourseSummary;
+
+/**
+ * A course with its modules and their content, so a client can render a whole
+ * course from a single request.
+ */
+public class CourseTreeDTO extends CourseDTO {
+
+    private List<ModuleTreeDTO> modules;
+
+    public CourseTreeDTO(CourseSummary summary, List<ModuleTreeDTO> modules) {
+        super(summary);
+        this.modules = modules;
+    }
+
+    public List<ModuleTreeDTO> getModules() {
+        return modules;
+    }
+
+    public void setModules(List<ModuleTreeDTO> modules) {
+        this.modules = modules;
+    }
+}
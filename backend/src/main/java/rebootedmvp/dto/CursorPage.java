@@ -0,0 +1,30 @@
+package rebootedmvp.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. 'nextCursor' is an opaque token that
+ * continues the list after the last item, or null on the last page.
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
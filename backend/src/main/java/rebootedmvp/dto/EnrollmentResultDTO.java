@@ -0,0 +1,50 @@
+package rebootedmvp.dto;
+
+/**
+ * The outcome of enrolling one username in a course.
+ */
+public class EnrollmentResultDTO {
+
+    public enum Status {
+        ENROLLED,
+        ALREADY_ENROLLED,
+        NOT_FOUND
+    }
+
+    private String username;
+    private String supabaseUserId;
+    private Status status;
+
+    public EnrollmentResultDTO() {
+    }
+
+    public EnrollmentResultDTO(String username, String supabaseUserId, Status status) {
+        this.username = username;
+        this.supabaseUserId = supabaseUserId;
+        this.status = status;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getSupabaseUserId() {
+        return supabaseUserId;
+    }
+
+    public void setSupabaseUserId(String supabaseUserId) {
+        this.supabaseUserId = supabaseUserId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+}
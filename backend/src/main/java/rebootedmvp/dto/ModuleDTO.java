@@ -1,6 +1,6 @@
 package rebootedmvp.dto;
 
-import rebootedmvp.Module;
+import rebootedmvp.repository.ModuleSummary;
 
 public class ModuleDTO {
 
@@ -11,12 +11,12 @@ public class ModuleDTO {
     private Long courseId;
     private int contentCount;
 
-    public ModuleDTO(Module mod) {
-        this.id = mod.getId();
-        this.title = mod.getTitle();
-        this.body = mod.getBody();
-        this.courseId = mod.getCourseId();
-        this.contentCount = mod.getAll().size();
+    public ModuleDTO(ModuleSummary summary) {
+        this.id = summary.getId();
+        this.title = summary.getTitle();
+        this.body = summary.getBody();
+        this.courseId = summary.getCourseId();
+        this.contentCount = summary.getContentCount();
     }
 
     public ModuleDTO(Long id, String title, String body, Long courseId, int contentCount) {
@@ -0,0 +1,65 @@
+package rebootedmvp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * A module of a {@link CourseImportDTO} with its content. Each content item's
+ * "type" field picks the DTO it is read as; its moduleId is ignored.
+ */
+public class ModuleImportDTO implements NewDTO {
+
+    private String title;
+    private String body;
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type",
+            visible = true)
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = NewTextContentDTO.class, name = "Text"),
+            @JsonSubTypes.Type(value = NewMultipleChoiceQuestionContentDTO.class, name = "MultipleChoiceQuestion"),
+            @JsonSubTypes.Type(value = NewVideoContentDTO.class, name = "Video"),
+            @JsonSubTypes.Type(value = NewMatchingQuestionContentDTO.class, name = "MatchingQuestion"),
+            @JsonSubTypes.Type(value = NewImageContentDTO.class, name = "Image")
+    })
+    private List<NewContentDTO> contents = new ArrayList<>();
+
+    public ModuleImportDTO() {
+    }
+
+    public ModuleImportDTO(String title, String body, List<NewContentDTO> contents) {
+        this.title = title;
+        this.body = body;
+        this.contents = contents;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @Override
+    public String getBody() {
+        return body;
+    }
+
+    @Override
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public List<NewContentDTO> getContents() {
+        return contents;
+    }
+
+    public void setContents(List<NewContentDTO> contents) {
+        this.contents = contents;
+    }
+}
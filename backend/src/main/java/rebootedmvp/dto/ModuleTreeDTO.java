@@ -0,0 +1,27 @@
+package rebootedmvp.dto;
+
+import java.util.List;
+
+import rebootedmvp.repository.ModuleSummary;
+
+/**
+ * A module together with all of its content, as returned by the course tree
+ * endpoint.
+ */
+public class ModuleTreeDTO extends ModuleDTO {
+
+    private List<ContentDTO> contents;
+
+    public ModuleTreeDTO(ModuleSummary summary, List<ContentDTO> contents) {
+        super(summary);
+        this.contents = contents;
+    }
+
+    public List<ContentDTO> getContents() {
+        return contents;
+    }
+
+    public void setContents(List<ContentDTO> contents) {
+        this.contents = contents;
+    }
+}
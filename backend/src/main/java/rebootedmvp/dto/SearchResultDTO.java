@@ -0,0 +1,76 @@
+package rebootedmvp.dto;
+
+import rebootedmvp.service.SearchIndex;
+
+/**
+ * One ranked search match: a course, module or content item the caller can
+ * access.
+ */
+public class SearchResultDTO {
+    private String type;
+    private Long id;
+    private Long courseId;
+    private Long moduleId;
+    private String title;
+    private double score;
+
+    public SearchResultDTO() {
+    }
+
+    public SearchResultDTO(SearchIndex.Hit hit) {
+        this.type = hit.kind().name();
+        this.id = hit.id();
+        this.courseId = hit.courseId();
+        this.moduleId = hit.moduleId();
+        this.title = hit.title();
+        this.score = hit.score();
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getModuleId() {
+        return moduleId;
+    }
+
+    public void setModuleId(Long moduleId) {
+        this.moduleId = moduleId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
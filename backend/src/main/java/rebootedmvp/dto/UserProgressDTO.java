@@ -1,33 +1,35 @@
 package rebootedmvp.dto;
 
-import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import org.javatuples.*;
 
-import rebootedmvp.domain.impl.BooleanEntry;
-import rebootedmvp.domain.impl.PairImpl;
 import rebootedmvp.domain.impl.UserProgress;
 
 public class UserProgressDTO {
+    private String supabaseUserId;
+    private Long courseId;
     private double totalProgress;
     private ArrayList<Pair<Double, ArrayList<Boolean>>> progress;
 
     public UserProgressDTO(UserProgress userProgress) {
+        supabaseUserId = userProgress.getId().getSupabaseUserId();
+        courseId = userProgress.getId().getCourseId();
         totalProgress = userProgress.getTotalProgress();
-        List<PairImpl> temp = userProgress.getProgress();
-        progress = temp
-                .stream()
-                .map(moduleData -> new Pair<>(
-                        moduleData.getLeft_value(),
-                        moduleData.getRight()
-                                .stream()
-                                .map(BooleanEntry::getValue)
-                                .collect(Collectors.toCollection(ArrayList::new))))
-                .collect(Collectors.toCollection(ArrayList::new));
+        progress = new ArrayList<>(userProgress.getModuleCount());
+        for (int module = 0; module < userProgress.getModuleCount(); module++) {
+            progress.add(new Pair<>(
+                    userProgress.getModuleScore(module),
+                    new ArrayList<>(userProgress.getCompleted(module))));
+        }
+    }
+
+    public String getSupabaseUserId() {
+        return supabaseUserId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
     }
 
     public double getTotalProgress() {
@@ -1,12 +1,19 @@
 package rebootedmvp.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import rebootedmvp.Content;
 import rebootedmvp.domain.impl.ContentEntityImpl;
 
@@ -17,6 +24,9 @@ import rebootedmvp.domain.impl.ContentEntityImpl;
 @Repository
 public interface ContentRepository extends JpaRepository<ContentEntityImpl, Long> {
 
+    String VERSION_SELECT = "SELECT COUNT(c) AS count, COALESCE(SUM(c.id), 0L) AS idSum, " +
+            "MAX(c.updatedAt) AS lastModified FROM ContentEntityImpl c";
+
     /**
      * Find content by module ID
      */
@@ -24,9 +34,44 @@ public interface ContentRepository extends JpaRepository<ContentEntityImpl, Long
     List<ContentEntityImpl> findByModuleId(Long moduleId);
 
     /**
-     * Find content by module ID ordered by creation date
+     * Find content by module ID ordered by creation date, ties broken by ID
+     */
+    List<ContentEntityImpl> findByModuleIdOrderByCreatedAtAscIdAsc(Long moduleId);
+
+    /**
+     * Keyset page of all content: the first 'limit' items with id > afterId
+     */
+    @Query("SELECT c FROM ContentEntityImpl c WHERE c.id > :afterId ORDER BY c.id")
+    List<ContentEntityImpl> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Streams all content ordered by id, for exports. Must be consumed inside a
+     * transaction and closed afterwards
      */
-    List<ContentEntityImpl> findByModuleIdOrderByCreatedAtAsc(Long moduleId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT c FROM ContentEntityImpl c ORDER BY c.id")
+    Stream<ContentEntityImpl> streamAll();
+
+    /**
+     * Find content of several modules at once, ordered by creation date, ties
+     * broken by ID
+     */
+    List<ContentEntityImpl> findByModuleIdInOrderByCreatedAtAscIdAsc(Collection<Long> moduleIds);
+
+    /**
+     * IDs of a module's content, in the order of their progress slots
+     * (creation date, ties broken by ID)
+     */
+    @Query("SELECT c.id FROM ContentEntityImpl c WHERE c.moduleId = :moduleId ORDER BY c.createdAt ASC, c.id ASC")
+    List<Long> findIdsByModuleId(@Param("moduleId") Long moduleId);
+
+    /**
+     * IDs of the content of several modules
+     */
+    @Query("SELECT c.id FROM ContentEntityImpl c WHERE c.moduleId IN :moduleIds")
+    List<Long> findIdsByModuleIdIn(@Param("moduleIds") Collection<Long> moduleIds);
 
     /**
      * Find content by title (case-insensitive)
@@ -81,6 +126,31 @@ public interface ContentRepository extends JpaRepository<ContentEntityImpl, Long
     @Query("SELECT COUNT(c) > 0 FROM ContentEntityImpl c WHERE c.id = :contentId AND c.moduleId = :moduleId")
     boolean existsByIdAndModuleId(@Param("contentId") Long contentId, @Param("moduleId") Long moduleId);
 
+    /**
+     * Version fingerprint of all content
+     */
+    @Query(VERSION_SELECT)
+    VersionSummary findVersion();
+
+    /**
+     * Version fingerprint of the content of a module
+     */
+    @Query(VERSION_SELECT + " WHERE c.moduleId = :moduleId")
+    VersionSummary findVersionByModuleId(@Param("moduleId") Long moduleId);
+
+    /**
+     * Version fingerprint of the content of every module in a course
+     */
+    @Query(VERSION_SELECT + " WHERE c.moduleId IN " +
+            "(SELECT m.id FROM ModuleEntityImpl m WHERE m.courseId = :courseId)")
+    VersionSummary findVersionByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Version fingerprint of a single content item (count is 0 if it doesn't exist)
+     */
+    @Query(VERSION_SELECT + " WHERE c.id = :contentId")
+    VersionSummary findVersionById(@Param("contentId") Long contentId);
+
     /**
      * Find question content with specific correct answer
      */
@@ -1,14 +1,23 @@
 package rebootedmvp.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import rebootedmvp.domain.impl.CourseEntityImpl;
 
 /**
@@ -18,6 +27,23 @@ import rebootedmvp.domain.impl.CourseEntityImpl;
 @Repository
 public interface CourseRepository extends JpaRepository<CourseEntityImpl, Long> {
 
+        String SUMMARY_SELECT = "SELECT c.id AS id, c.title AS title, c.body AS body, " +
+                        "SIZE(c.teachers) AS teacherCount, SIZE(c.students) AS studentCount, " +
+                        "SIZE(c.modules) AS moduleCount FROM CourseEntityImpl c";
+
+        String VERSION_SELECT = "SELECT COUNT(c) AS count, COALESCE(SUM(c.id), 0L) AS idSum, " +
+                        "MAX(c.updatedAt) AS lastModified FROM CourseEntityImpl c";
+
+        /**
+         * Streams every course ordered by id, for full scans such as building the
+         * search index. Must be consumed inside a transaction and closed afterwards
+         */
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+        @Query("SELECT c FROM CourseEntityImpl c ORDER BY c.id")
+        Stream<CourseEntityImpl> streamAll();
+
         /**
          * Find courses by title (case-insensitive)
          */
@@ -46,6 +72,73 @@ public interface CourseRepository extends JpaRepository<CourseEntityImpl, Long>
                         "WHERE t.supabaseUserId = :userId OR s.supabaseUserId = :userId")
         List<CourseEntityImpl> findCoursesByUserId(@Param("userId") String userId);
 
+        /**
+         * IDs of the courses where the user is either a teacher or student,
+         * without loading the courses
+         */
+        @Query("SELECT DISTINCT c.id FROM CourseEntityImpl c " +
+                        "LEFT JOIN c.teachers t " +
+                        "LEFT JOIN c.students s " +
+                        "WHERE t.supabaseUserId = :userId OR s.supabaseUserId = :userId " +
+                        "ORDER BY c.id")
+        List<Long> findCourseIdsByUserId(@Param("userId") String userId);
+
+        /**
+         * Keyset page of course summaries: the first 'limit' courses with
+         * id > afterId
+         */
+        @Query(SUMMARY_SELECT + " WHERE c.id > :afterId ORDER BY c.id")
+        List<CourseSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+        /**
+         * Course summary (with SQL-computed counts) for a single course
+         */
+        @Query(SUMMARY_SELECT + " WHERE c.id = :courseId")
+        Optional<CourseSummary> findSummaryById(@Param("courseId") Long courseId);
+
+        /**
+         * Last-modified time of a course, present only if the course is published
+         */
+        @Query("SELECT c.updatedAt FROM CourseEntityImpl c WHERE c.id = :courseId AND c.isPublished = true")
+        Optional<LocalDateTime> findPublishedVersion(@Param("courseId") Long courseId);
+
+        /**
+         * Version fingerprint of every course
+         */
+        @Query(VERSION_SELECT)
+        VersionSummary findVersion();
+
+        /**
+         * Version fingerprint of a single course (count is 0 if it doesn't exist)
+         */
+        @Query(VERSION_SELECT + " WHERE c.id = :courseId")
+        VersionSummary findVersionById(@Param("courseId") Long courseId);
+
+        /**
+         * Set a course's updatedAt, for changes that only touch its member
+         * collections and so don't trigger @PreUpdate
+         */
+        @Modifying
+        @Query("UPDATE CourseEntityImpl c SET c.updatedAt = :updatedAt WHERE c.id = :courseId")
+        int touch(@Param("courseId") Long courseId, @Param("updatedAt") LocalDateTime updatedAt);
+
+        /**
+         * Tombstone a course, hiding it from every entity query until it is
+         * purged. Bypasses entity listeners
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE CourseEntityImpl c SET c.deletedAt = :deletedAt WHERE c.id = :courseId")
+        int markDeleted(@Param("courseId") Long courseId, @Param("deletedAt") LocalDateTime deletedAt);
+
+        /**
+         * Course summaries for courses where the user is either a teacher or student
+         */
+        @Query(SUMMARY_SELECT + " WHERE EXISTS (SELECT 1 FROM CourseEntityImpl ct JOIN ct.teachers t " +
+                        "WHERE ct.id = c.id AND t.supabaseUserId = :userId) " +
+                        "OR EXISTS (SELECT 1 FROM CourseEntityImpl cs JOIN cs.students s " +
+                        "WHERE cs.id = c.id AND s.supabaseUserId = :userId)")
+        List<CourseSummary> findSummariesByUserId(@Param("userId") String userId);
+
         /**
          * Check if a user is a teacher of a specific course
          */
@@ -58,6 +151,21 @@ public interface CourseRepository extends JpaRepository<CourseEntityImpl, Long>
         @Query("SELECT COUNT(c) > 0 FROM CourseEntityImpl c JOIN c.students s WHERE c.id = :courseId AND s.id = :userId")
         boolean isUserStudentOfCourse(@Param("courseId") Long courseId, @Param("userId") String userId);
 
+        /**
+         * Returns (course_id, role) rows for every course in 'courseIds' where the
+         * user is a teacher ('TEACHER') or student ('STUDENT'). Courses the user
+         * isn't a member of, and deleted courses, are absent from the result.
+         */
+        @Query(value = "SELECT ct.course_id, 'TEACHER' FROM course_teachers ct " +
+                        "JOIN courses c ON c.id = ct.course_id AND c.deleted_at IS NULL " +
+                        "WHERE ct.supabase_user_id = :userId AND ct.course_id IN (:courseIds) " +
+                        "UNION ALL " +
+                        "SELECT cs.course_id, 'STUDENT' FROM course_students cs " +
+                        "JOIN courses c ON c.id = cs.course_id AND c.deleted_at IS NULL " +
+                        "WHERE cs.supabase_user_id = :userId AND cs.course_id IN (:courseIds)", nativeQuery = true)
+        List<Object[]> findCourseRoles(@Param("userId") String userId,
+                        @Param("courseIds") Collection<Long> courseIds);
+
         /**
          * Find courses created within a date range
          */
@@ -76,8 +184,4 @@ public interface CourseRepository extends JpaRepository<CourseEntityImpl, Long>
          */
         @Query("SELECT COUNT(DISTINCT t) FROM CourseEntityImpl c JOIN c.teachers t")
         Long countTotalTeachers();
-
-        @NonNull
-        @EntityGraph(attributePaths = { "teachers", "students" })
-        List<CourseEntityImpl> findAll();
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package rebootedmvp.repository;
+
+/**
+ * Read-only projection of a course with its member and module counts computed
+ * in SQL, so listing courses never initializes the teacher, student or module
+ * collections.
+ */
+public interface CourseSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    String getBody();
+
+    int getTeacherCount();
+
+    int getStudentCount();
+
+    int getModuleCount();
+}
@@ -1,12 +1,21 @@
 package rebootedmvp.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import rebootedmvp.domain.impl.ModuleEntityImpl;
 
 /**
@@ -16,15 +25,66 @@ import rebootedmvp.domain.impl.ModuleEntityImpl;
 @Repository
 public interface ModuleRepository extends JpaRepository<ModuleEntityImpl, Long> {
 
+    String SUMMARY_SELECT = "SELECT m.id AS id, m.title AS title, m.body AS body, m.courseId AS courseId, " +
+            "SIZE(m.contentItems) AS contentCount FROM ModuleEntityImpl m";
+
+    String VERSION_SELECT = "SELECT COUNT(m) AS count, COALESCE(SUM(m.id), 0L) AS idSum, " +
+            "MAX(m.updatedAt) AS lastModified FROM ModuleEntityImpl m";
+
     /**
      * Find modules by course ID
      */
     List<ModuleEntityImpl> findByCourseId(Long courseId);
 
     /**
-     * Find modules by course ID ordered by creation date
+     * Find modules by course ID ordered by creation date, ties broken by ID
+     */
+    List<ModuleEntityImpl> findByCourseIdOrderByCreatedAtAscIdAsc(Long courseId);
+
+    /**
+     * Module summaries (with SQL-computed content counts) for a course, ordered
+     * by creation date, ties broken by ID
+     */
+    @Query(SUMMARY_SELECT + " WHERE m.courseId = :courseId ORDER BY m.createdAt ASC, m.id ASC")
+    List<ModuleSummary> findSummariesByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Module summaries for several courses at once, ordered by creation date,
+     * ties broken by ID
+     */
+    @Query(SUMMARY_SELECT + " WHERE m.courseId IN :courseIds ORDER BY m.createdAt ASC, m.id ASC")
+    List<ModuleSummary> findSummariesByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Module summary (with SQL-computed content count) for a single module
+     */
+    @Query(SUMMARY_SELECT + " WHERE m.id = :moduleId")
+    Optional<ModuleSummary> findSummaryById(@Param("moduleId") Long moduleId);
+
+    /**
+     * Streams every module ordered by id, for full scans such as building the
+     * search index. Must be consumed inside a transaction and closed afterwards
      */
-    List<ModuleEntityImpl> findByCourseIdOrderByCreatedAtAsc(Long courseId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT m FROM ModuleEntityImpl m ORDER BY m.id")
+    Stream<ModuleEntityImpl> streamAll();
+
+    /**
+     * IDs of a course's modules, in the order of their progress slots
+     * (creation date, ties broken by ID)
+     */
+    @Query("SELECT m.id FROM ModuleEntityImpl m WHERE m.courseId = :courseId ORDER BY m.createdAt ASC, m.id ASC")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Tombstone a module, hiding it from every entity query until it is
+     * purged. Bypasses entity listeners
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ModuleEntityImpl m SET m.deletedAt = :deletedAt WHERE m.id = :moduleId")
+    int markDeleted(@Param("moduleId") Long moduleId, @Param("deletedAt") LocalDateTime deletedAt);
 
     /**
      * Find modules by title (case-insensitive)
@@ -59,4 +119,22 @@ public interface ModuleRepository extends JpaRepository<ModuleEntityImpl, Long>
      */
     @Query("SELECT COUNT(m) > 0 FROM ModuleEntityImpl m WHERE m.id = :moduleId AND m.courseId = :courseId")
     boolean existsByIdAndCourseId(@Param("moduleId") Long moduleId, @Param("courseId") Long courseId);
-}
\ No newline at end of file
+
+    /**
+     * Version fingerprint of every module
+     */
+    @Query(VERSION_SELECT)
+    VersionSummary findVersion();
+
+    /**
+     * Version fingerprint of the modules of a course
+     */
+    @Query(VERSION_SELECT + " WHERE m.courseId = :courseId")
+    VersionSummary findVersionByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Version fingerprint of a single module (count is 0 if it doesn't exist)
+     */
+    @Query(VERSION_SELECT + " WHERE m.id = :moduleId")
+    VersionSummary findVersionById(@Param("moduleId") Long moduleId);
+}
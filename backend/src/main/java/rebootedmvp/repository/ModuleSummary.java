@@ -0,0 +1,18 @@
+package rebootedmvp.repository;
+
+/**
+ * Read-only projection of a module with its content count computed in SQL, so
+ * listing modules never initializes the contentItems map.
+ */
+public interface ModuleSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    String getBody();
+
+    Long getCourseId();
+
+    int getContentCount();
+}
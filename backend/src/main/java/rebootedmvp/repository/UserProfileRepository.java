@@ -2,12 +2,18 @@ package rebootedmvp.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import rebootedmvp.User;
 import rebootedmvp.domain.impl.UserProfileImpl;
 
@@ -19,6 +25,23 @@ public interface UserProfileRepository extends JpaRepository<UserProfileImpl, St
      */
     Optional<UserProfileImpl> findBySupabaseUserId(String supabaseUserId);
 
+    /**
+     * Keyset page of all users: the first 'limit' users with a Supabase user ID
+     * after 'afterId'
+     */
+    @Query("SELECT u FROM UserProfileImpl u WHERE u.supabaseUserId > :afterId ORDER BY u.supabaseUserId")
+    List<UserProfileImpl> findPageAfter(@Param("afterId") String afterId, Limit limit);
+
+    /**
+     * Streams every user, ordered by Supabase user ID, for exports. Must be
+     * consumed inside a transaction and closed afterwards
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT u FROM UserProfileImpl u ORDER BY u.supabaseUserId")
+    Stream<UserProfileImpl> streamAll();
+
     /**
      * Find user by username
      */
@@ -49,18 +72,6 @@ public interface UserProfileRepository extends JpaRepository<UserProfileImpl, St
      */
     List<UserProfileImpl> findByUserType(User.UserType userType);
 
-    /**
-     * Find users by username containing (case insensitive search)
-     */
-    @Query("SELECT u FROM UserProfileImpl u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :username, '%'))")
-    List<UserProfileImpl> findByUsernameContainingIgnoreCase(@Param("username") String username);
-
-    /**
-     * Find users by full name containing (case insensitive search)
-     */
-    @Query("SELECT u FROM UserProfileImpl u WHERE LOWER(u.fullName) LIKE LOWER(CONCAT('%', :fullName, '%'))")
-    List<UserProfileImpl> findByFullNameContainingIgnoreCase(@Param("fullName") String fullName);
-
     /**
      * Find users by multiple usernames
      */
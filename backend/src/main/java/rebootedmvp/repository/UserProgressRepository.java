@@ -1,10 +1,19 @@
 package rebootedmvp.repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import rebootedmvp.domain.impl.UserProgress;
 import rebootedmvp.domain.impl.UserProgressId;
 
@@ -15,4 +24,28 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, User
     // supabaseUserId, Long courseId);
     Optional<UserProgress> findByIdCourseIdAndIdSupabaseUserId(Long courseId, String supabaseUserId);
 
+    /**
+     * Keyset page of all progress rows, ordered by (courseId, supabaseUserId)
+     */
+    @Query("SELECT p FROM UserProgress p WHERE p.id.courseId > :afterCourseId " +
+            "OR (p.id.courseId = :afterCourseId AND p.id.supabaseUserId > :afterUserId) " +
+            "ORDER BY p.id.courseId, p.id.supabaseUserId")
+    List<UserProgress> findPageAfter(@Param("afterCourseId") Long afterCourseId,
+            @Param("afterUserId") String afterUserId, Limit limit);
+
+    /**
+     * Every progress row of the course
+     */
+    List<UserProgress> findByIdCourseId(Long courseId);
+
+    /**
+     * Streams every progress row, ordered by (courseId, supabaseUserId), for
+     * exports. Must be consumed inside a transaction and closed afterwards
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT p FROM UserProgress p ORDER BY p.id.courseId, p.id.supabaseUserId")
+    Stream<UserProgress> streamAll();
+
 }
@@ -0,0 +1,18 @@
+package rebootedmvp.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate fingerprint of a set of rows: how many there are, the sum of their
+ * IDs and the latest updatedAt. Any insert, delete or update of the set changes
+ * at least one of these, so it can stand in for the rows when computing an
+ * ETag without loading them.
+ */
+public interface VersionSummary {
+
+    long getCount();
+
+    long getIdSum();
+
+    LocalDateTime getLastModified();
+}
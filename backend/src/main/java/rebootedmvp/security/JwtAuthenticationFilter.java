@@ -49,13 +49,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 User user = userSyncService.syncSupabaseUser(jwt);
                 
                 if (user != null) {
-                    logger.info("Successfully synced existing user: '{}' with email: '{}' for request: {}",
+                    logger.debug("Successfully synced existing user: '{}' with email: '{}' for request: {}",
                             user.getSupabaseUserId(), user.getEmail(), requestUri);
                 } else {
                     // User doesn't exist in backend yet - they need to complete signup
                     String supabaseUserId = jwt.getSubject();
                     String email = jwt.getClaimAsString("email");
-                    logger.info("User '{}' with email '{}' not found in backend - should complete signup flow for request: {}", 
+                    logger.debug("User '{}' with email '{}' not found in backend - should complete signup flow for request: {}", 
                             supabaseUserId, email, requestUri);
                 }
             } else {
@@ -0,0 +1,198 @@
+package rebootedmvp.security;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * In-memory cache of Supabase's JWKS signing keys.
+ * The key set is fetched once at startup and then refreshed on a background
+ * thread, so request threads never wait on the JWKS endpoint once warm. If a
+ * refresh fails the previous keys stay in use. A token signed with an unknown
+ * "kid" (key rotation) triggers at most one synchronous refetch per cooldown
+ * window; concurrent misses share that refetch. Likewise, while no keys have
+ * been fetched yet, requests fetch at most once per cooldown window and fail
+ * fast in between.
+ */
+public class SupabaseJwksCache implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupabaseJwksCache.class);
+
+    private static final int FETCH_TIMEOUT_MILLIS = 5000;
+
+    private final URL jwksUrl;
+    private final Duration refreshInterval;
+    private final Duration unknownKidCooldown;
+    private final ScheduledExecutorService scheduler;
+    private final Object fetchLock = new Object();
+
+    private volatile JWKSet keys;
+    private Instant lastUnknownKidRefetch = Instant.EPOCH;
+    private Instant lastColdFetch = Instant.EPOCH;
+
+    private final Timer refreshSuccessTimer;
+    private final Timer refreshFailureTimer;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public SupabaseJwksCache(URL jwksUrl, Duration refreshInterval, Duration unknownKidCooldown,
+            MeterRegistry meterRegistry) {
+        this.jwksUrl = jwksUrl;
+        this.refreshInterval = refreshInterval;
+        this.unknownKidCooldown = unknownKidCooldown;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "supabase-jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.refreshSuccessTimer = Timer.builder("supabase.jwks.refresh")
+                .description("Time spent fetching the Supabase JWKS")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.refreshFailureTimer = Timer.builder("supabase.jwks.refresh")
+                .description("Time spent fetching the Supabase JWKS")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("supabase.jwks.lookups")
+                .description("Signing key lookups against the cached JWKS")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("supabase.jwks.lookups")
+                .description("Signing key lookups against the cached JWKS")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("supabase.jwks.keys", this, cache -> cache.keys == null ? 0 : cache.keys.size())
+                .description("Number of signing keys currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Prefetches the key set and schedules the background refresh.
+     */
+    public void start() {
+        if (!refresh()) {
+            logger.warn("Initial JWKS fetch from {} failed; will retry on first use and in the background", jwksUrl);
+        }
+        long intervalMillis = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        JWKSet current = keys;
+        if (current == null) {
+            current = fetchColdKeys();
+        }
+
+        List<JWK> matches = jwkSelector.select(current);
+        if (!matches.isEmpty()) {
+            hitCounter.increment();
+            return matches;
+        }
+
+        missCounter.increment();
+        JWKSet refreshed = refetchForUnknownKey(current);
+        return refreshed == current ? matches : jwkSelector.select(refreshed);
+    }
+
+    /**
+     * Fetches the key set and swaps it in. On failure the previous keys are kept.
+     *
+     * @return whether the fetch succeeded
+     */
+    public boolean refresh() {
+        long start = System.nanoTime();
+        try {
+            JWKSet fetched = fetch();
+            keys = fetched;
+            refreshSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.debug("Refreshed JWKS from {} ({} keys)", jwksUrl, fetched.size());
+            return true;
+        } catch (Exception e) {
+            refreshFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.warn("Failed to refresh JWKS from {}, keeping {} cached keys: {}",
+                    jwksUrl, keys == null ? 0 : keys.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Fetches the key set for a request that found none cached. Threads that
+     * were waiting on the lock reuse a successful result, and while the
+     * endpoint is down requests within the cooldown fail without fetching.
+     */
+    private JWKSet fetchColdKeys() throws KeySourceException {
+        synchronized (fetchLock) {
+            if (keys != null) {
+                return keys;
+            }
+            Instant now = Instant.now();
+            if (now.isBefore(lastColdFetch.plus(unknownKidCooldown))) {
+                throw new KeySourceException("JWKS from " + jwksUrl + " unavailable, not retrying until "
+                        + lastColdFetch.plus(unknownKidCooldown));
+            }
+            lastColdFetch = now;
+            if (!refresh()) {
+                throw new KeySourceException("Couldn't retrieve JWKS from " + jwksUrl);
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * Refetches once for an unknown key ID. Threads that were waiting on the lock
+     * reuse the result instead of fetching again, and repeated misses (e.g. forged
+     * kids) within the cooldown are answered from the cache.
+     */
+    private JWKSet refetchForUnknownKey(JWKSet seen) {
+        synchronized (fetchLock) {
+            if (keys != seen) {
+                return keys;
+            }
+            Instant now = Instant.now();
+            if (now.isBefore(lastUnknownKidRefetch.plus(unknownKidCooldown))) {
+                return seen;
+            }
+            lastUnknownKidRefetch = now;
+            refresh();
+            return keys;
+        }
+    }
+
+    private JWKSet fetch() throws Exception {
+        URLConnection connection = jwksUrl.openConnection();
+        connection.setConnectTimeout(FETCH_TIMEOUT_MILLIS);
+        connection.setReadTimeout(FETCH_TIMEOUT_MILLIS);
+        try (InputStream in = connection.getInputStream()) {
+            return JWKSet.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
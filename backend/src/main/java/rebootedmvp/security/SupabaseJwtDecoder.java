@@ -1,86 +1,237 @@
 package rebootedmvp.security;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
-import org.springframework.stereotype.Component;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.time.Instant;
-import java.util.Base64;
-import java.util.Collections;
-import java.util.Map;
 
-@Component
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import rebootedmvp.config.SupabaseConfig;
+
+/**
+ * Verifies Supabase access tokens locally instead of asking the Supabase Auth
+ * server about every request.
+ * HS256 tokens are checked against the configured project JWT secret;
+ * asymmetric tokens (ES256) are handed to the JWKS-backed decoder.
+ * Either way exp/iat/aud are validated here. Verified tokens are cached until
+ * they expire, so repeat requests skip signature and header parsing. The remote
+ * /auth/v1/user call is only made for a sampled fraction of requests to catch
+ * revoked sessions.
+ */
 public class SupabaseJwtDecoder implements JwtDecoder {
-    
-    private final String supabaseUrl;
+
+    private static final Logger logger = LoggerFactory.getLogger(SupabaseJwtDecoder.class);
+
+    private static final Duration REVOCATION_CHECK_TIMEOUT = Duration.ofSeconds(2);
+
+    private final SupabaseConfig supabaseConfig;
+    private final SecretKey hmacKey;
+    private final JwtDecoder asymmetricDecoder;
+    private final VerifiedTokenCache tokenCache;
+    private final OAuth2TokenValidator<Jwt> validator;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-    
-    public SupabaseJwtDecoder(@Value("${supabase.project-url}") String supabaseUrl) {
-        this.supabaseUrl = supabaseUrl;
-        this.restTemplate = new RestTemplate();
+
+    public SupabaseJwtDecoder(SupabaseConfig supabaseConfig, JwtDecoder asymmetricDecoder,
+            VerifiedTokenCache tokenCache) {
+        this.supabaseConfig = supabaseConfig;
+        this.hmacKey = supabaseConfig.hmacSigningKey();
+        this.asymmetricDecoder = asymmetricDecoder;
+        this.tokenCache = tokenCache;
+        this.validator = createValidator(supabaseConfig);
         this.objectMapper = new ObjectMapper();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(REVOCATION_CHECK_TIMEOUT);
+        requestFactory.setReadTimeout(REVOCATION_CHECK_TIMEOUT);
+        this.restTemplate = new RestTemplate(requestFactory);
     }
-    
+
     @Override
     public Jwt decode(String token) throws JwtException {
+        Jwt jwt = tokenCache.get(token);
+        if (jwt == null) {
+            jwt = verify(token);
+            tokenCache.put(token, jwt);
+        }
+
+        if (shouldCheckRevocation()) {
+            checkRevocation(token);
+        }
+        return jwt;
+    }
+
+    private Jwt verify(String token) {
+        Jwt jwt = "HS256".equals(readAlgorithm(token))
+                ? decodeHmac(token)
+                : asymmetricDecoder.decode(token);
+
+        OAuth2TokenValidatorResult result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            throw new JwtValidationException("Invalid token: " + result.getErrors().iterator().next().getDescription(),
+                    result.getErrors());
+        }
+        return jwt;
+    }
+
+    /**
+     * Reads the "alg" header without verifying anything, so the token can be
+     * routed to the right verifier.
+     */
+    private String readAlgorithm(String token) {
+        int firstDot = token.indexOf('.');
+        if (firstDot <= 0) {
+            throw new JwtException("Invalid JWT format");
+        }
+        try {
+            byte[] header = Base64.getUrlDecoder().decode(token.substring(0, firstDot));
+            Object alg = objectMapper.readValue(new String(header, StandardCharsets.UTF_8), Map.class).get("alg");
+            return alg != null ? alg.toString() : null;
+        } catch (Exception e) {
+            throw new JwtException("Invalid JWT header: " + e.getMessage(), e);
+        }
+    }
+
+    private Jwt decodeHmac(String token) {
+        if (hmacKey == null) {
+            throw new JwtException("HS256 token received but supabase.jwt-secret is not configured");
+        }
+        Jws<Claims> jws;
         try {
-            // Call Supabase Auth server to validate token
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(token);
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                supabaseUrl + "/auth/v1/user",
-                HttpMethod.GET,
-                entity,
-                String.class
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK) {
-                // Parse the original JWT to get claims
-                String[] chunks = token.split("\\.");
-                if (chunks.length != 3) {
-                    throw new JwtException("Invalid JWT format");
-                }
-                
-                String payload = new String(Base64.getUrlDecoder().decode(chunks[1]));
-                @SuppressWarnings("unchecked")
-                Map<String, Object> claims = objectMapper.readValue(payload, Map.class);
-                
-                return createJwt(token, claims);
-            } else {
-                throw new JwtException("Invalid token - Auth server returned: " + response.getStatusCode());
-            }
+            jws = Jwts.parser()
+                    .verifyWith(hmacKey)
+                    .clockSkewSeconds(supabaseConfig.getJwtClockSkewSeconds())
+                    .build()
+                    .parseSignedClaims(token);
         } catch (Exception e) {
-            throw new JwtException("Failed to validate token with Supabase Auth server: " + e.getMessage(), e);
+            throw new JwtException("Failed to verify token signature: " + e.getMessage(), e);
         }
+
+        Map<String, Object> headers = new LinkedHashMap<>(jws.getHeader());
+        Map<String, Object> claims = new LinkedHashMap<>();
+        jws.getPayload().forEach((name, value) -> claims.put(name, normalizeClaim(value)));
+        if (claims.isEmpty()) {
+            throw new JwtException("Token has no claims");
+        }
+
+        return new Jwt(token,
+                instantClaim(claims, JwtClaimNames.IAT),
+                instantClaim(claims, JwtClaimNames.EXP),
+                headers,
+                claims);
     }
-    
-    private Jwt createJwt(String token, Map<String, Object> claims) {
-        // Extract timestamps safely
-        Instant issuedAt = extractInstant(claims, "iat");
-        Instant expiresAt = extractInstant(claims, "exp");
-        
-        return new Jwt(
-            token,
-            issuedAt,
-            expiresAt,
-            Collections.singletonMap("alg", "HS256"),
-            claims
-        );
+
+    private static Instant instantClaim(Map<String, Object> claims, String name) {
+        Object value = claims.get(name);
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof Number number) {
+            return Instant.ofEpochSecond(number.longValue());
+        }
+        return null;
     }
-    
-    private Instant extractInstant(Map<String, Object> claims, String claim) {
-        Object value = claims.get(claim);
-        if (value instanceof Number) {
-            return Instant.ofEpochSecond(((Number) value).longValue());
+
+    /**
+     * Converts jjwt's claim representations to the ones Spring's Jwt accessors
+     * expect (Instant timestamps, List audiences).
+     */
+    private static Object normalizeClaim(Object value) {
+        if (value instanceof Date date) {
+            return date.toInstant();
         }
-        return Instant.now(); // fallback
+        if (value instanceof Collection<?> collection) {
+            return List.copyOf(collection);
+        }
+        return value;
+    }
+
+    private boolean shouldCheckRevocation() {
+        double rate = supabaseConfig.getRevocationCheckSampleRate();
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Asks the Supabase Auth server whether the session behind the token is still
+     * alive. Only an explicit rejection fails the request; an unreachable or slow
+     * Auth server is logged and the locally verified token is accepted.
+     */
+    private void checkRevocation(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        if (supabaseConfig.getAnonKey() != null) {
+            headers.set("apikey", supabaseConfig.getAnonKey());
+        }
+        try {
+            restTemplate.exchange(supabaseConfig.getProjectUrl() + "/auth/v1/user", HttpMethod.GET,
+                    new HttpEntity<>(headers), String.class);
+        } catch (HttpClientErrorException e) {
+            tokenCache.invalidate(token);
+            throw new JwtException("Token rejected by Supabase Auth server: " + e.getStatusCode());
+        } catch (RestClientException e) {
+            logger.warn("Skipping revocation check, Supabase Auth server unavailable: {}", e.getMessage());
+        }
+    }
+
+    private static OAuth2TokenValidator<Jwt> createValidator(SupabaseConfig supabaseConfig) {
+        Duration clockSkew = Duration.ofSeconds(supabaseConfig.getJwtClockSkewSeconds());
+        String audience = supabaseConfig.getJwtAudience();
+
+        OAuth2TokenValidator<Jwt> expiryValidator = jwt -> jwt.getExpiresAt() != null
+                ? OAuth2TokenValidatorResult.success()
+                : failure("Token has no exp claim");
+
+        OAuth2TokenValidator<Jwt> issuedAtValidator = jwt -> jwt.getIssuedAt() == null
+                || !jwt.getIssuedAt().isAfter(Instant.now().plus(clockSkew))
+                        ? OAuth2TokenValidatorResult.success()
+                        : failure("Token was issued in the future");
+
+        OAuth2TokenValidator<Jwt> audienceValidator = jwt -> audience == null || audience.isBlank()
+                || (jwt.getAudience() != null && jwt.getAudience().contains(audience))
+                        ? OAuth2TokenValidatorResult.success()
+                        : failure("Token audience does not include " + audience);
+
+        return new DelegatingOAuth2TokenValidator<>(
+                expiryValidator,
+                new JwtTimestampValidator(clockSkew),
+                issuedAtValidator,
+                audienceValidator);
+    }
+
+    private static OAuth2TokenValidatorResult failure(String description) {
+        return OAuth2TokenValidatorResult.failure(new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN, description, null));
     }
-} 
\ No newline at end of file
+}
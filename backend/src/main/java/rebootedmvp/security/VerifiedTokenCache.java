@@ -0,0 +1,87 @@
+package rebootedmvp.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of already-verified access tokens, keyed by the SHA-256 of the
+ * raw token so the tokens themselves are never held as map keys.
+ * An entry lives until the token's exp or the configured max TTL, whichever is
+ * sooner, and values are softly referenced so the GC can reclaim them under
+ * memory pressure.
+ */
+public class VerifiedTokenCache {
+
+    private final Cache<String, Jwt> cache;
+
+    public VerifiedTokenCache(long maximumSize, Duration maxTtl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .softValues()
+                .expireAfter(new ExpireAtTokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "supabase.jwt.verified");
+    }
+
+    public Jwt get(String token) {
+        return cache.getIfPresent(digest(token));
+    }
+
+    public void put(String token, Jwt jwt) {
+        if (jwt.getExpiresAt() != null) {
+            cache.put(digest(token), jwt);
+        }
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class ExpireAtTokenExpiry implements Expiry<String, Jwt> {
+
+        private final long maxTtlNanos;
+
+        ExpireAtTokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            long untilExp = Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExp, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
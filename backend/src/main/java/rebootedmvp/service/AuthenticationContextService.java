@@ -12,9 +12,7 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.stereotype.Service;
 
 import rebootedmvp.User;
-import rebootedmvp.UserMapper;
 import rebootedmvp.exception.UserNotAuthenticatedException;
-import rebootedmvp.repository.UserProfileRepository;
 
 /**
  * Service for extracting and managing the current authenticated user context.
@@ -27,7 +25,7 @@ public class AuthenticationContextService {
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationContextService.class);
 
     @Autowired
-    private UserProfileRepository userRepository;
+    private UserPrincipalCache userPrincipalCache;
 
     /**
      * Gets the current authenticated user from the security context.
@@ -61,9 +59,8 @@ public class AuthenticationContextService {
 
         logger.debug("Found JWT authentication for user: {}", supabaseUserId);
 
-        // Find the user in our backend database
-        Optional<User> userOpt = userRepository.findBySupabaseUserId(supabaseUserId)
-                .map(UserMapper::toDomain);
+        // Find the user in our backend database (memoized per request and cached across requests)
+        Optional<User> userOpt = userPrincipalCache.findBySupabaseUserId(supabaseUserId);
 
         if (userOpt.isEmpty()) {
             logger.warn("Authenticated user {} not found in backend database", supabaseUserId);
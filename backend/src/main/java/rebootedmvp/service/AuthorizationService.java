@@ -1,5 +1,8 @@
 package rebootedmvp.service;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,13 +11,14 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
+import rebootedmvp.CourseRole;
 import rebootedmvp.User;
 import rebootedmvp.exception.UnauthorizedAccessException;
-import rebootedmvp.repository.CourseRepository;
 
 /**
  * Centralized authorization service that handles access control logic.
- * Uses existing CourseRepository methods to verify user permissions.
+ * Course roles are answered from CourseMembershipCache, which only goes to the
+ * database on a miss.
  */
 @Service
 public class AuthorizationService {
@@ -22,7 +26,7 @@ public class AuthorizationService {
     private static final Logger logger = LoggerFactory.getLogger(AuthorizationService.class);
 
     @Autowired
-    private CourseRepository courseRepository;
+    private CourseMembershipCache membershipCache;
 
     @Autowired
     private AuthenticationContextService authContextService;
@@ -89,6 +93,19 @@ public class AuthorizationService {
         logger.debug("User {} granted teacher access to course {}", user.getSupabaseUserId(), courseId);
     }
 
+    /**
+     * Requires that the current user is an admin.
+     *
+     * @throws UnauthorizedAccessException if the user is not an admin
+     */
+    public void requireAdmin() throws UnauthorizedAccessException {
+        User currentUser = authContextService.getCurrentUser();
+        if (currentUser.getUserType() != User.UserType.Admin) {
+            logger.warn("User {} denied admin access", currentUser.getSupabaseUserId());
+            throw new UnauthorizedAccessException("Admin access required");
+        }
+    }
+
     /**
      * Checks if the current user has access to the specified course.
      * 
@@ -118,20 +135,12 @@ public class AuthorizationService {
         }
 
         try {
-            // Check if course exists first
-            if (!courseRepository.existsById(courseId)) {
-                logger.debug("Course {} does not exist", courseId);
-                return false;
-            }
-
             // User has access if they are either a teacher or student
-            boolean isTeacher = courseRepository.isUserTeacherOfCourse(courseId, user.getSupabaseUserId());
-            boolean isStudent = courseRepository.isUserStudentOfCourse(courseId, user.getSupabaseUserId());
+            CourseRole role = membershipCache.getRole(user.getSupabaseUserId(), courseId);
 
-            logger.debug("User {} access to course {}: teacher={}, student={}",
-                    user.getSupabaseUserId(), courseId, isTeacher, isStudent);
+            logger.debug("User {} role in course {}: {}", user.getSupabaseUserId(), courseId, role);
 
-            return isTeacher || isStudent;
+            return role != CourseRole.NONE;
 
         } catch (Exception e) {
             logger.error("Error checking course access for user {} on course {}: {}",
@@ -169,13 +178,7 @@ public class AuthorizationService {
         }
 
         try {
-            // Check if course exists first
-            if (!courseRepository.existsById(courseId)) {
-                logger.debug("Course {} does not exist", courseId);
-                return false;
-            }
-
-            return courseRepository.isUserTeacherOfCourse(courseId, user.getSupabaseUserId());
+            return membershipCache.getRole(user.getSupabaseUserId(), courseId) == CourseRole.TEACHER;
 
         } catch (Exception e) {
             logger.error("Error checking teacher access for user {} on course {}: {}",
@@ -197,13 +200,7 @@ public class AuthorizationService {
         }
 
         try {
-            // Check if course exists first
-            if (!courseRepository.existsById(courseId)) {
-                logger.debug("Course {} does not exist", courseId);
-                return false;
-            }
-
-            return courseRepository.isUserStudentOfCourse(courseId, user.getSupabaseUserId());
+            return membershipCache.getRole(user.getSupabaseUserId(), courseId) == CourseRole.STUDENT;
 
         } catch (Exception e) {
             logger.error("Error checking student access for user {} on course {}: {}",
@@ -212,6 +209,22 @@ public class AuthorizationService {
         }
     }
 
+    /**
+     * Returns the specified user's role in each of the given courses, for list
+     * endpoints that would otherwise check courses one at a time. Cache misses
+     * are resolved together in a single query.
+     * 
+     * @param courseIds The IDs of the courses to check
+     * @param user      The user to check roles for
+     * @return A map from each course ID to the user's role in it
+     */
+    public Map<Long, CourseRole> getCourseRoles(Collection<Long> courseIds, User user) {
+        if (user == null || courseIds == null || courseIds.isEmpty()) {
+            return Map.of();
+        }
+        return membershipCache.getRoles(user.getSupabaseUserId(), courseIds);
+    }
+
     public String getCurrentSupabaseUserId() {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication instanceof JwtAuthenticationToken jwtToken) {
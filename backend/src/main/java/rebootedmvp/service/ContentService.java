@@ -7,8 +7,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import rebootedmvp.Content;
 import rebootedmvp.ContentMapper;
@@ -23,6 +25,7 @@ import rebootedmvp.domain.impl.VideoContentImpl;
 import rebootedmvp.domain.impl.ModuleEntityImpl;
 
 import rebootedmvp.dto.ContentDTO;
+import rebootedmvp.dto.CursorPage;
 import rebootedmvp.dto.ImageContentDTO;
 import rebootedmvp.dto.MatchingQuestionContentDTO;
 import rebootedmvp.dto.MultipleChoiceQuestionContentDTO;
@@ -37,6 +40,7 @@ import rebootedmvp.exception.CoursePublishedException;
 import rebootedmvp.repository.ContentRepository;
 import rebootedmvp.repository.CourseRepository;
 import rebootedmvp.repository.ModuleRepository;
+import rebootedmvp.repository.VersionSummary;
 
 @Service
 @Transactional
@@ -56,18 +60,25 @@ public class ContentService {
     @Autowired
     private AuthorizationService authorizationService;
 
+    @Autowired
+    private UserProgressService userProgressService;
+
+    /**
+     * Returns one keyset page of all content, ordered by id
+     */
     @Transactional(readOnly = true)
-    public List<ContentDTO> findAll() {
-        logger.debug("ContentService.findAll() called");
-        return contentRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .toList();
+    public CursorPage<ContentDTO> findAll(String cursor, Integer limit) {
+        logger.debug("ContentService.findAll({}, {}) called", cursor, limit);
+        int pageSize = PageCursor.pageSize(limit);
+        return PageCursor.page(
+                contentRepository.findPageAfter(PageCursor.decodeLong(cursor), PageCursor.fetchLimit(pageSize)),
+                pageSize, this::convertToDTO, content -> PageCursor.encode(content.getId()));
     }
 
     @Transactional(readOnly = true)
     public List<ContentDTO> findByModuleId(Long moduleId) {
         logger.debug("ContentService.findByModuleId({}) called", moduleId);
-        return contentRepository.findByModuleIdOrderByCreatedAtAsc(moduleId).stream()
+        return contentRepository.findByModuleIdOrderByCreatedAtAscIdAsc(moduleId).stream()
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -80,15 +91,41 @@ public class ContentService {
         return content.map(this::convertToDTO).orElse(null);
     }
 
-    public ContentDTO create(NewContentDTO newContentDTO) {
-        logger.debug("ContentService.create() called with type: {}", newContentDTO.getType());
+    /**
+     * Returns the version of the full content list, for conditional GETs
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getAllVersion(String cursor, Integer limit) {
+        return ResourceVersion.of("contents;" + cursor + ";" + PageCursor.pageSize(limit),
+                contentRepository.findVersion());
+    }
 
-        if (newContentDTO.getTitle() == null || newContentDTO.getTitle().trim().isEmpty()) {
-            throw new IllegalArgumentException("Content title cannot be empty");
+    /**
+     * Returns the version of a module's content list, for conditional GETs
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getModuleVersion(Long moduleId) {
+        if (moduleRepository.findVersionById(moduleId).getCount() == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Module not found with id: " + moduleId);
         }
-        if (newContentDTO.getType() == null) {
-            throw new IllegalArgumentException("Content type cannot be null");
+        return ResourceVersion.of("module-contents", contentRepository.findVersionByModuleId(moduleId));
+    }
+
+    /**
+     * Returns the version of a single content item, for conditional GETs
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getVersion(Long id) {
+        VersionSummary content = contentRepository.findVersionById(id);
+        if (content.getCount() == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Content not found with id: " + id);
         }
+        return ResourceVersion.of("content", content);
+    }
+
+    public ContentDTO create(NewContentDTO newContentDTO) {
+        logger.debug("ContentService.create() called with type: {}", newContentDTO.getType());
+
         if (newContentDTO.getModuleId() == null) {
             throw new IllegalArgumentException("Module ID cannot be null");
         }
@@ -100,65 +137,80 @@ public class ContentService {
         }
         Module module = moduleOpt.get();
 
-        Content content;
+        Content content = build(newContentDTO, module.getId());
 
-        if (null == newContentDTO.getType()) {
-            throw new IllegalArgumentException("Unsupported content type: " + newContentDTO.getType());
-        } else
-            switch (newContentDTO.getType()) {
-                case Text -> content = new TextContentImpl(
-                        newContentDTO.getTitle().trim(),
-                        newContentDTO.getBody(),
-                        module.getId());
-                case MultipleChoiceQuestion -> {
-                    List<String> options = ((NewMultipleChoiceQuestionContentDTO) newContentDTO).getOptions() != null
-                            ? ((NewMultipleChoiceQuestionContentDTO) newContentDTO).getOptions()
-                            : List.of();
-                    String correctAnswer = ((NewMultipleChoiceQuestionContentDTO) newContentDTO)
-                            .getCorrectAnswer() != null
-                                    ? ((NewMultipleChoiceQuestionContentDTO) newContentDTO).getCorrectAnswer()
-                                    : "";
-                    // Validate question data
-                    if (options.size() < 2) {
-                        throw new IllegalArgumentException("Question must have at least 2 options");
-                    }
-                    if (correctAnswer.isEmpty()) {
-                        throw new IllegalArgumentException("Question must have a correct answer");
-                    }
-                    if (!options.contains(correctAnswer)) {
-                        throw new IllegalArgumentException("Correct answer must be one of the provided options");
-                    }
-                    content = new MultipleChoiceQuestionContentImpl(
-                            newContentDTO.getTitle().trim(),
-                            newContentDTO.getBody(),
-                            options,
-                            correctAnswer,
-                            module.getId());
+        Content savedContent = contentRepository.save(ContentMapper.toEntity(content));
+        userProgressService.addContentSlot(module.getCourseId(), module.getId(), savedContent.getId());
+        logger.info("Created content with ID: {} in module: {}", savedContent.getId(), module.getId());
+        return convertToDTO(savedContent);
+    }
+
+    /**
+     * Checks the fields every new content item needs, whatever its type.
+     * Throws IllegalArgumentException if one is missing.
+     */
+    void validate(NewContentDTO newContentDTO) {
+        if (newContentDTO.getTitle() == null || newContentDTO.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("Content title cannot be empty");
+        }
+        if (newContentDTO.getType() == null) {
+            throw new IllegalArgumentException("Content type cannot be null");
+        }
+    }
+
+    /**
+     * Returns a new, unsaved content item of the DTO's type in module
+     * 'moduleId', applying the type-specific rules (e.g. a question's correct
+     * answer must be one of its options). Throws IllegalArgumentException if
+     * the DTO breaks one.
+     */
+    Content build(NewContentDTO newContentDTO, Long moduleId) {
+        validate(newContentDTO);
+        return switch (newContentDTO.getType()) {
+            case Text -> new TextContentImpl(
+                    newContentDTO.getTitle().trim(),
+                    newContentDTO.getBody(),
+                    moduleId);
+            case MultipleChoiceQuestion -> {
+                List<String> options = ((NewMultipleChoiceQuestionContentDTO) newContentDTO).getOptions() != null
+                        ? ((NewMultipleChoiceQuestionContentDTO) newContentDTO).getOptions()
+                        : List.of();
+                String correctAnswer = ((NewMultipleChoiceQuestionContentDTO) newContentDTO)
+                        .getCorrectAnswer() != null
+                                ? ((NewMultipleChoiceQuestionContentDTO) newContentDTO).getCorrectAnswer()
+                                : "";
+                // Validate question data
+                if (options.size() < 2) {
+                    throw new IllegalArgumentException("Question must have at least 2 options");
                 }
-                case Video -> content = new VideoContentImpl(
-                        newContentDTO.getTitle().trim(),
-                        newContentDTO.getBody(),
-                        ((NewVideoContentDTO) newContentDTO).getVideoUrl(),
-                        module.getId());
-                case MatchingQuestion -> {
-                    content = new MatchingQuestionContentImpl(
-                            newContentDTO.getTitle().trim(),
-                            newContentDTO.getBody(),
-                            ((NewMatchingQuestionContentDTO) newContentDTO).getMatches(),
-                            module.getId());
+                if (correctAnswer.isEmpty()) {
+                    throw new IllegalArgumentException("Question must have a correct answer");
                 }
-                case Image -> {
-                    content = new ImageContentImpl(
-                            newContentDTO.getTitle().trim(),
-                            newContentDTO.getBody(),
-                            module.getId(), ((NewImageContentDTO) newContentDTO).getURL());
+                if (!options.contains(correctAnswer)) {
+                    throw new IllegalArgumentException("Correct answer must be one of the provided options");
                 }
-                default -> throw new IllegalArgumentException("Unsupported content type: " + newContentDTO.getType());
+                yield new MultipleChoiceQuestionContentImpl(
+                        newContentDTO.getTitle().trim(),
+                        newContentDTO.getBody(),
+                        options,
+                        correctAnswer,
+                        moduleId);
             }
-
-        Content savedContent = contentRepository.save(ContentMapper.toEntity(content));
-        logger.info("Created content with ID: {} in module: {}", savedContent.getId(), module.getId());
-        return convertToDTO(savedContent);
+            case Video -> new VideoContentImpl(
+                    newContentDTO.getTitle().trim(),
+                    newContentDTO.getBody(),
+                    ((NewVideoContentDTO) newContentDTO).getVideoUrl(),
+                    moduleId);
+            case MatchingQuestion -> new MatchingQuestionContentImpl(
+                    newContentDTO.getTitle().trim(),
+                    newContentDTO.getBody(),
+                    ((NewMatchingQuestionContentDTO) newContentDTO).getMatches(),
+                    moduleId);
+            case Image -> new ImageContentImpl(
+                    newContentDTO.getTitle().trim(),
+                    newContentDTO.getBody(),
+                    moduleId, ((NewImageContentDTO) newContentDTO).getURL());
+        };
     }
 
     @Transactional
@@ -277,6 +329,7 @@ public class ContentService {
                         throw new CoursePublishedException("delete");
                     }
                 }
+                userProgressService.removeContentSlot(module.get().getCourseId(), module.get().getId(), id);
             }
             contentRepository.deleteById(id);
             logger.info("Deleted content with ID: {}", id);
@@ -0,0 +1,154 @@
+package rebootedmvp.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import rebootedmvp.domain.impl.UserProgress;
+import rebootedmvp.repository.ContentRepository;
+import rebootedmvp.repository.CourseRepository;
+import rebootedmvp.repository.ModuleRepository;
+import rebootedmvp.repository.UserProgressRepository;
+
+/**
+ * Deletes courses and modules in two phases. The request marks a tombstone
+ * (deleted_at), which hides the row from every entity query immediately and
+ * takes constant time. {@link CoursePurgeWorker} later removes the row and
+ * everything under it in bounded chunks through the *Chunk methods.
+ * Callers must run inside a transaction and do their own existence and
+ * permission checks.
+ */
+@Component
+public class CourseCascadeDeleter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCascadeDeleter.class);
+
+    /**
+     * Rows of 'table' matching 'condition' (bound to one ID), in the order
+     * they must be removed
+     */
+    private record Step(String table, String condition) {
+
+        String sql() {
+            // ctid lookups keep each chunk to a bounded TID scan on any table
+            return "DELETE FROM " + table + " WHERE ctid = ANY(ARRAY(SELECT ctid FROM " + table + " WHERE "
+                    + condition + " LIMIT ?))";
+        }
+    }
+
+    // Children before parents; JOINED subtables before their root tables
+    private static final List<Step> COURSE_STEPS = List.of(
+            new Step("user_course_progress", "course_id = ?"),
+            new Step("course_teachers", "course_id = ?"),
+            new Step("course_students", "course_id = ?"),
+            new Step("teacher_courses", "course_id = ?"),
+            new Step("student_courses", "course_id = ?"),
+            new Step("content", "module_id IN (SELECT id FROM modules WHERE course_id = ?)"),
+            new Step("module_entity_impl", "id IN (SELECT id FROM modules WHERE course_id = ?)"),
+            new Step("modules", "course_id = ?"),
+            new Step("course_entity_impl", "id = ?"),
+            new Step("courses", "id = ?"));
+
+    private static final Step MODULE_CONTENT_STEP = new Step("content", "module_id = ?");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private UserProgressRepository userProgressRepository;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    /**
+     * Tombstones the course. It and its modules and content drop out of reads
+     * and the search index at once; the rows are purged in the background.
+     */
+    public void markCourseDeleted(Long courseId) {
+        List<Long> moduleIds = moduleRepository.findIdsByCourseId(courseId);
+        List<Long> contentIds = moduleIds.isEmpty() ? List.of() : contentRepository.findIdsByModuleIdIn(moduleIds);
+        courseRepository.markDeleted(courseId, LocalDateTime.now());
+        unindex(courseId, moduleIds, contentIds);
+        logger.info("Marked course {} deleted ({} modules, {} content items pending purge)", courseId,
+                moduleIds.size(), contentIds.size());
+    }
+
+    /**
+     * Tombstones the module. It and its content drop out of reads and the
+     * search index at once, and its slot is removed from every progress row
+     * of the course, so progress keeps lining up with the modules still
+     * listed; the rows are purged in the background.
+     */
+    public void markModuleDeleted(Long courseId, Long moduleId) {
+        List<Long> moduleIds = List.of(moduleId);
+        List<Long> contentIds = contentRepository.findIdsByModuleIdIn(moduleIds);
+        int slot = moduleRepository.findIdsByCourseId(courseId).indexOf(moduleId);
+        if (slot >= 0) {
+            for (UserProgress progress : userProgressRepository.findByIdCourseId(courseId)) {
+                progress.removeModule(slot);
+            }
+        }
+        moduleRepository.markDeleted(moduleId, LocalDateTime.now());
+        unindex(null, moduleIds, contentIds);
+        logger.info("Marked module {} of course {} deleted ({} content items pending purge)", moduleId, courseId,
+                contentIds.size());
+    }
+
+    /**
+     * Deletes up to 'limit' rows belonging to a tombstoned course, from the
+     * first table in dependency order that still has any. Returns the number
+     * of rows deleted; 0 once the course row itself is gone.
+     */
+    public int deleteCourseChunk(Long courseId, int limit) {
+        for (Step step : COURSE_STEPS) {
+            int deleted = jdbcTemplate.update(step.sql(), courseId, limit);
+            if (deleted > 0) {
+                return deleted;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Deletes up to 'limit' content rows of a tombstoned module; once none are
+     * left, deletes the module row itself. Returns the number of rows deleted;
+     * 0 once the module row is gone.
+     */
+    public int deleteModuleChunk(Long moduleId, int limit) {
+        int deleted = jdbcTemplate.update(MODULE_CONTENT_STEP.sql(), moduleId, limit);
+        if (deleted > 0) {
+            return deleted;
+        }
+        deleted += jdbcTemplate.update("DELETE FROM module_entity_impl WHERE id = ?", moduleId);
+        deleted += jdbcTemplate.update("DELETE FROM modules WHERE id = ?", moduleId);
+        return deleted;
+    }
+
+    private void unindex(Long courseId, List<Long> moduleIds, List<Long> contentIds) {
+        SearchIndexListener.afterCommit(() -> {
+            for (Long contentId : contentIds) {
+                searchIndex.remove(SearchIndex.Kind.CONTENT, contentId);
+            }
+            for (Long moduleId : moduleIds) {
+                searchIndex.remove(SearchIndex.Kind.MODULE, moduleId);
+            }
+            if (courseId != null) {
+                searchIndex.remove(SearchIndex.Kind.COURSE, courseId);
+            }
+        });
+    }
+}
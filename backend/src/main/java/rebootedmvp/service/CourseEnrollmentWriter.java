@@ -0,0 +1,82 @@
+package rebootedmvp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes course memberships and the matching progress rows with set-based
+ * SQL, one statement per table per chunk of users, instead of merging the
+ * course's member collections through JPA. Callers must run inside a
+ * transaction and must not rely on member collections already loaded in the
+ * same persistence context.
+ */
+@Component
+public class CourseEnrollmentWriter {
+
+    // Users per statement; each chunk is bound as a single text[] parameter
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_STUDENTS = "INSERT INTO course_students (course_id, supabase_user_id) "
+            + "SELECT ?, u.id FROM unnest(?::text[]) AS u(id) "
+            + "ON CONFLICT DO NOTHING RETURNING supabase_user_id";
+
+    private static final String INSERT_TEACHERS = "INSERT INTO course_teachers (course_id, supabase_user_id) "
+            + "SELECT ?, u.id FROM unnest(?::text[]) AS u(id) "
+            + "ON CONFLICT DO NOTHING RETURNING supabase_user_id";
+
+    // Empty progress: a zero score and a cleared bitmap slice per live
+    // module, in creation order with ties broken by ID, matching
+    // UserProgressService.createUserProgress
+    private static final String INSERT_PROGRESS = "INSERT INTO user_course_progress "
+            + "(supabase_user_id, course_id, total_progress, module_scores, module_sizes, completed) "
+            + "SELECT u.id, ?, 0, m.scores, m.sizes, m.completed FROM unnest(?::text[]) AS u(id) "
+            + "CROSS JOIN (SELECT COALESCE(array_agg(0::float8 ORDER BY m.created_at, m.id), '{}'::float8[]) AS scores, "
+            + "COALESCE(array_agg(m.contents ORDER BY m.created_at, m.id), '{}'::int[]) AS sizes, "
+            + "decode(repeat('00', ((COALESCE(sum(m.contents), 0) + 7) / 8)::int), 'hex') AS completed "
+            + "FROM (SELECT m.id, m.created_at, (SELECT count(*) FROM content c WHERE c.module_id = m.id)::int AS contents "
+            + "FROM modules m WHERE m.course_id = ? AND m.deleted_at IS NULL) m) m "
+            + "ON CONFLICT DO NOTHING";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the users as students and creates their empty progress records.
+     * Returns the IDs of users who were not already students.
+     */
+    public List<String> addStudents(Long courseId, List<String> supabaseUserIds) {
+        List<String> added = insertMembers(INSERT_STUDENTS, courseId, supabaseUserIds);
+        for (List<String> chunk : chunks(added)) {
+            jdbcTemplate.update(INSERT_PROGRESS, courseId, chunk.toArray(String[]::new), courseId);
+        }
+        return added;
+    }
+
+    /**
+     * Adds the users as teachers. Returns the IDs of users who were not
+     * already teachers.
+     */
+    public List<String> addTeachers(Long courseId, List<String> supabaseUserIds) {
+        return insertMembers(INSERT_TEACHERS, courseId, supabaseUserIds);
+    }
+
+    private List<String> insertMembers(String sql, Long courseId, List<String> supabaseUserIds) {
+        List<String> added = new ArrayList<>();
+        for (List<String> chunk : chunks(supabaseUserIds)) {
+            added.addAll(jdbcTemplate.queryForList(sql, String.class, courseId, chunk.toArray(String[]::new)));
+        }
+        return added;
+    }
+
+    private static List<List<String>> chunks(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+}
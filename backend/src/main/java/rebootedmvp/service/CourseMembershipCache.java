@@ -0,0 +1,146 @@
+package rebootedmvp.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import rebootedmvp.CourseRole;
+import rebootedmvp.repository.CourseRepository;
+
+/**
+ * In-process index of (user, course) to {@link CourseRole}, filled lazily from
+ * the course_teachers / course_students join tables.
+ * Every write that changes course membership or deletes a course must call one
+ * of the invalidate methods. Invalidation happens immediately and again after
+ * the surrounding transaction commits, so a concurrent reader cannot re-cache
+ * the pre-commit state.
+ */
+@Service
+public class CourseMembershipCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseMembershipCache.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final Cache<MembershipKey, CourseRole> cache;
+
+    public CourseMembershipCache(MeterRegistry meterRegistry,
+            @Value("${cache.memberships.ttl-seconds:600}") long ttlSeconds,
+            @Value("${cache.memberships.maximum-size:100000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "courses.membership");
+    }
+
+    /**
+     * Returns the user's role in the course, loading it from the database on a
+     * miss. Courses that don't exist resolve to {@link CourseRole#NONE}.
+     */
+    public CourseRole getRole(String supabaseUserId, Long courseId) {
+        return cache.get(new MembershipKey(supabaseUserId, courseId), this::loadRole);
+    }
+
+    /**
+     * Returns the user's role in each of the given courses. All cache misses are
+     * resolved with a single role-projection query.
+     */
+    public Map<Long, CourseRole> getRoles(String supabaseUserId, Collection<Long> courseIds) {
+        Set<MembershipKey> keys = new HashSet<>();
+        for (Long courseId : courseIds) {
+            keys.add(new MembershipKey(supabaseUserId, courseId));
+        }
+
+        Map<Long, CourseRole> roles = new HashMap<>();
+        cache.getAll(keys, this::loadRoles).forEach((key, role) -> roles.put(key.courseId(), role));
+        return roles;
+    }
+
+    /**
+     * Drops the cached role of one user in one course.
+     */
+    public void invalidate(String supabaseUserId, Long courseId) {
+        MembershipKey key = new MembershipKey(supabaseUserId, courseId);
+        runNowAndAfterCommit(() -> cache.invalidate(key));
+    }
+
+    /**
+     * Drops every cached role for the course, e.g. after bulk membership changes
+     * or deletion.
+     */
+    public void invalidateCourse(Long courseId) {
+        runNowAndAfterCommit(() -> cache.asMap().keySet().removeIf(key -> key.courseId().equals(courseId)));
+    }
+
+    private CourseRole loadRole(MembershipKey key) {
+        logger.debug("Membership cache miss for user {} on course {}", key.supabaseUserId(), key.courseId());
+        if (!courseRepository.existsById(key.courseId())) {
+            return CourseRole.NONE;
+        }
+        if (courseRepository.isUserTeacherOfCourse(key.courseId(), key.supabaseUserId())) {
+            return CourseRole.TEACHER;
+        }
+        if (courseRepository.isUserStudentOfCourse(key.courseId(), key.supabaseUserId())) {
+            return CourseRole.STUDENT;
+        }
+        return CourseRole.NONE;
+    }
+
+    private Map<MembershipKey, CourseRole> loadRoles(Set<? extends MembershipKey> keys) {
+        Map<String, List<Long>> courseIdsByUser = new HashMap<>();
+        for (MembershipKey key : keys) {
+            courseIdsByUser.computeIfAbsent(key.supabaseUserId(), id -> new ArrayList<>()).add(key.courseId());
+        }
+
+        Map<MembershipKey, CourseRole> roles = new HashMap<>();
+        for (MembershipKey key : keys) {
+            roles.put(key, CourseRole.NONE);
+        }
+        courseIdsByUser.forEach((supabaseUserId, courseIds) -> {
+            logger.debug("Membership cache miss for user {} on {} courses", supabaseUserId, courseIds.size());
+            for (Object[] row : courseRepository.findCourseRoles(supabaseUserId, courseIds)) {
+                MembershipKey key = new MembershipKey(supabaseUserId, ((Number) row[0]).longValue());
+                CourseRole role = CourseRole.valueOf(row[1].toString());
+                // Teacher wins if the user somehow holds both roles
+                roles.merge(key, role, (existing, found) -> existing == CourseRole.TEACHER ? existing : found);
+            }
+        });
+        return roles;
+    }
+
+    private static void runNowAndAfterCommit(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private record MembershipKey(String supabaseUserId, Long courseId) {
+    }
+}
@@ -1,7 +1,10 @@
 package rebootedmvp.service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -11,11 +14,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import rebootedmvp.Course;
+import rebootedmvp.CourseDoesNotExistException;
 import rebootedmvp.CourseMapper;
+import rebootedmvp.CourseRole;
 import rebootedmvp.User;
 import rebootedmvp.User.UserType;
 import rebootedmvp.UserMapper;
@@ -23,6 +29,8 @@ import rebootedmvp.domain.impl.AdminImpl;
 import rebootedmvp.domain.impl.StudentImpl;
 import rebootedmvp.domain.impl.TeacherImpl;
 import rebootedmvp.dto.AdminDTO;
+import rebootedmvp.dto.CursorPage;
+import rebootedmvp.dto.EnrollmentResultDTO;
 import rebootedmvp.dto.StudentDTO;
 import rebootedmvp.dto.TeacherDTO;
 import rebootedmvp.dto.UserCourseDTO;
@@ -49,6 +57,18 @@ public class CourseMembershipService {
     @Lazy
     private CourseService courseService;
 
+    @Autowired
+    private CourseMembershipCache membershipCache;
+
+    @Autowired
+    private PublishedCourseSnapshotCache snapshotCache;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private CourseEnrollmentWriter enrollmentWriter;
+
     // public boolean addUserToCourse(Long courseId, String userId, User.UserType
     // role) {
     // logger.debug("Adding user {} to course {} with role {}", userId, courseId,
@@ -157,6 +177,10 @@ public class CourseMembershipService {
 
         if (removedAsTeacher || removedAsStudent) {
             courseRepository.save(CourseMapper.toEntity(course));
+            membershipCache.invalidate(user.getSupabaseUserId(), courseId);
+            snapshotCache.evict(courseId);
+            // Membership changes don't trigger @PreUpdate; bump the course version
+            courseRepository.touch(courseId, LocalDateTime.now());
             logger.info("Successfully removed user {} from course {}", userId, courseId);
             return true;
         }
@@ -190,6 +214,10 @@ public class CourseMembershipService {
         }
 
         courseRepository.save(CourseMapper.toEntity(course));
+        membershipCache.invalidateCourse(courseId);
+        snapshotCache.evict(courseId);
+        // Membership changes don't trigger @PreUpdate; bump the course version
+        courseRepository.touch(courseId, LocalDateTime.now());
         logger.info("Removed {} teachers and {} students from course {}", teacherCount, studentCount, courseId);
 
         return true;
@@ -266,8 +294,14 @@ public class CourseMembershipService {
         return result;
     }
 
+    /**
+     * Returns the courses of the user. Admins see every course, one keyset page
+     * at a time when a cursor or limit is given and all at once otherwise; for
+     * teachers and students the list is bounded by their memberships and
+     * always fits in a single page.
+     */
     @Transactional(readOnly = true)
-    public List<UserCourseDTO> getUserCourses(String userId) {
+    public CursorPage<UserCourseDTO> getUserCourses(String userId, String cursor, Integer limit) {
         logger.info("===== CourseMembershipService.getUserCourses() START =====");
         logger.info("Input userId: '{}'", userId);
 
@@ -277,33 +311,45 @@ public class CourseMembershipService {
 
             if (!userOpt.isPresent()) {
                 logger.warn("User not found: {}", userId);
-                return List.of();
+                return new CursorPage<>(List.of(), null);
             }
             User user = userOpt.get();
             logger.info("User '{}' found as username, mapped to entity ID: '{}'", userId,
                     user.getSupabaseUserId());
             logger.debug("Step 2: Finding courses for user entity ID: '{}'", user.getSupabaseUserId());
             if (user.getUserType() == User.UserType.Admin) {
-                List<UserCourseDTO> courseDTOs = courseRepository.findAll().stream()
-                        .map(elem -> new UserCourseDTO(elem.getId(), elem.getTitle(),
-                                elem.getBody(), User.UserType.Admin))
-                        .toList();
-                return courseDTOs;
+                // Without a cursor or limit, keep returning the whole list:
+                // existing clients expect every course and don't follow cursors
+                if (cursor == null && limit == null) {
+                    return new CursorPage<>(courseRepository.findSummariesAfter(0L, Limit.unlimited()).stream()
+                            .map(elem -> new UserCourseDTO(elem.getId(), elem.getTitle(), elem.getBody(),
+                                    User.UserType.Admin))
+                            .toList(), null);
+                }
+                int pageSize = PageCursor.pageSize(limit);
+                return PageCursor.page(
+                        courseRepository.findSummariesAfter(PageCursor.decodeLong(cursor),
+                                PageCursor.fetchLimit(pageSize)),
+                        pageSize,
+                        elem -> new UserCourseDTO(elem.getId(), elem.getTitle(), elem.getBody(),
+                                User.UserType.Admin),
+                        elem -> PageCursor.encode(elem.getId()));
             }
             // Find courses where user is either teacher or student
-            Stream<Course> courses = courseRepository.findCoursesByUserId(user.getSupabaseUserId())
-                    .stream()
-                    .map(CourseMapper::toDomain);
-
-            List<UserCourseDTO> courseDTOs = courses
-                    .filter(course -> course.isTeacher(user) || (course.isStudent(user) && course.isPublished()))
-                    .map(elem -> new UserCourseDTO(elem.getId(), elem.getTitle(),
-                            elem.getBody(), elem.isStudent(user) ? User.UserType.Student : User.UserType.Teacher))
+            List<Course> courses = findCoursesByUser(user);
+            Map<Long, CourseRole> roles = authorizationService.getCourseRoles(courseIds(courses), user);
+
+            List<UserCourseDTO> courseDTOs = courses.stream()
+                    .filter(course -> roles.get(course.getId()) == CourseRole.TEACHER
+                            || (roles.get(course.getId()) == CourseRole.STUDENT && course.isPublished()))
+                    .map(elem -> new UserCourseDTO(elem.getId(), elem.getTitle(), elem.getBody(),
+                            roles.get(elem.getId()) == CourseRole.STUDENT ? User.UserType.Student
+                                    : User.UserType.Teacher))
                     .toList();
 
             logger.info("===== CourseMembershipService.getUserCourses() SUCCESS =====");
             logger.info("Returning {} courses for user '{}'", courseDTOs.size(), userId);
-            return courseDTOs;
+            return new CursorPage<>(courseDTOs, null);
         } catch (Exception e) {
             logger.error("===== CourseMembershipService.getUserCourses() ERROR =====");
             logger.error("Error getting user courses for user '{}': {}", userId, e.getMessage(), e);
@@ -326,12 +372,11 @@ public class CourseMembershipService {
             User user = userOpt.get();
             
             // Only return published courses where the user is a teacher
-            Stream<Course> courses = courseRepository.findCoursesByUserId(user.getSupabaseUserId())
-                    .stream()
-                    .map(CourseMapper::toDomain);
+            List<Course> courses = findCoursesByUser(user);
+            Map<Long, CourseRole> roles = authorizationService.getCourseRoles(courseIds(courses), user);
 
-            List<UserCourseDTO> courseDTOs = courses
-                    .filter(course -> course.isTeacher(user) && course.isPublished())
+            List<UserCourseDTO> courseDTOs = courses.stream()
+                    .filter(course -> roles.get(course.getId()) == CourseRole.TEACHER && course.isPublished())
                     .map(elem -> new UserCourseDTO(elem.getId(), elem.getTitle(),
                             elem.getBody(), User.UserType.Teacher))
                     .toList();
@@ -361,12 +406,11 @@ public class CourseMembershipService {
             User user = userOpt.get();
             
             // Only return unpublished courses where the user is a teacher
-            Stream<Course> courses = courseRepository.findCoursesByUserId(user.getSupabaseUserId())
-                    .stream()
-                    .map(CourseMapper::toDomain);
+            List<Course> courses = findCoursesByUser(user);
+            Map<Long, CourseRole> roles = authorizationService.getCourseRoles(courseIds(courses), user);
 
-            List<UserCourseDTO> courseDTOs = courses
-                    .filter(course -> course.isTeacher(user) && !course.isPublished())
+            List<UserCourseDTO> courseDTOs = courses.stream()
+                    .filter(course -> roles.get(course.getId()) == CourseRole.TEACHER && !course.isPublished())
                     .map(elem -> new UserCourseDTO(elem.getId(), elem.getTitle(),
                             elem.getBody(), User.UserType.Teacher))
                     .toList();
@@ -384,55 +428,70 @@ public class CourseMembershipService {
     public boolean addUsersByCourse(Long courseId, List<String> usernames, User.UserType role) {
         logger.debug("Adding {} users to course {} with role {}", usernames.size(), courseId, role);
 
-        // Find all users first
-        List<UserProfileDTO> userDTOs = userProfileService.findByUsernames(usernames);
-        if (userDTOs.size() != usernames.size()) {
-            logger.warn("Some users not found. Expected: {}, Found: {}", usernames.size(), userDTOs.size());
+        // Resolve all users in one batch
+        UserProfileService.UsernameResolution resolution = userProfileService.resolveUsernames(usernames);
+        if (!resolution.allFound()) {
+            logger.warn("Some users not found: {}", resolution.missing());
             return false; // Some users don't exist
         }
 
-        // Find the course
-        Optional<Course> courseOpt = courseRepository.findById(courseId).map(CourseMapper::toDomain);
-        if (courseOpt.isEmpty()) {
+        if (!courseRepository.existsById(courseId)) {
             logger.warn("Course not found with ID: {}", courseId);
             return false;
         }
-        Course course = courseOpt.get();
+        enroll(courseId, resolution, role);
+        return true;
+    }
 
-        // Find all User entities
-        List<User> users = new ArrayList<>();
-        for (UserProfileDTO userDTO : userDTOs) {
-            Optional<User> userOpt = userProfileRepository.findBySupabaseUserId(userDTO.getId())
-                    .map(UserMapper::toDomain);
-            if (userOpt.isEmpty()) {
-                logger.warn("User not found for ID: {}", userDTO.getId());
-                return false;
-            }
-            users.add(userOpt.get());
+    /**
+     * Enrolls every known username in the course with the given role and
+     * reports the outcome per username. Unknown usernames are reported rather
+     * than failing the whole request.
+     *
+     * @throws CourseDoesNotExistException if the course does not exist
+     * @throws IllegalArgumentException    if the role is not Teacher or Student
+     */
+    public List<EnrollmentResultDTO> enrollUsers(Long courseId, List<String> usernames, User.UserType role) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new CourseDoesNotExistException(courseId);
         }
+        UserProfileService.UsernameResolution resolution = userProfileService.resolveUsernames(usernames);
+        Set<String> added = new HashSet<>(enroll(courseId, resolution, role));
+
+        List<EnrollmentResultDTO> results = new ArrayList<>(resolution.found().size() + resolution.missing().size());
+        resolution.found().forEach((username, user) -> results.add(new EnrollmentResultDTO(username,
+                user.getSupabaseUserId(), added.contains(user.getSupabaseUserId())
+                        ? EnrollmentResultDTO.Status.ENROLLED
+                        : EnrollmentResultDTO.Status.ALREADY_ENROLLED)));
+        for (String username : resolution.missing()) {
+            results.add(new EnrollmentResultDTO(username, null, EnrollmentResultDTO.Status.NOT_FOUND));
+        }
+        return results;
+    }
 
-        // Add users to appropriate role
-        int addedCount = 0;
-        for (User user : users) {
-            if (role == UserType.Teacher) {
-                if (course.addTeacher(user)) {
-                    addedCount++;
-                }
-            } else if (role == UserType.Student) {
-                if (course.addStudent(user)) {
-                    addedCount++;
-                }
-            }
-
-            if (addedCount > 0) {
-                courseRepository.save(CourseMapper.toEntity(course));
-                logger.info("Successfully added {} users to course {} as {}", addedCount, courseId, role);
-            } else {
-                logger.warn("No users were added to course {} - they may already be enrolled", courseId);
+    // Writes memberships through CourseEnrollmentWriter rather than the course's
+    // member collections, so the cost doesn't grow with the existing roster
+    private List<String> enroll(Long courseId, UserProfileService.UsernameResolution resolution,
+            User.UserType role) {
+        List<String> userIds = resolution.found().values().stream()
+                .map(User::getSupabaseUserId)
+                .toList();
+        List<String> added = switch (role) {
+            case Teacher -> enrollmentWriter.addTeachers(courseId, userIds);
+            case Student -> enrollmentWriter.addStudents(courseId, userIds);
+            default -> throw new IllegalArgumentException("Users can only be enrolled as teachers or students");
+        };
+
+        if (!added.isEmpty()) {
+            for (String userId : added) {
+                membershipCache.invalidate(userId, courseId);
             }
+            snapshotCache.evict(courseId);
+            // Membership changes don't trigger @PreUpdate; bump the course version
+            courseRepository.touch(courseId, LocalDateTime.now());
         }
-        return true;
-
+        logger.info("Added {} of {} users to course {} as {}", added.size(), userIds.size(), courseId, role);
+        return added;
     }
 
     @Transactional(readOnly = true)
@@ -454,6 +513,17 @@ public class CourseMembershipService {
         return courseOpt.get().getStudents().size();
     }
 
+    private List<Course> findCoursesByUser(User user) {
+        return courseRepository.findCoursesByUserId(user.getSupabaseUserId())
+                .stream()
+                .map(CourseMapper::toDomain)
+                .toList();
+    }
+
+    private static List<Long> courseIds(List<Course> courses) {
+        return courses.stream().map(Course::getId).toList();
+    }
+
     private UserProfileDTO convertToDTO(User user) {
         switch (user.getUserType()) {
             case Teacher -> {
@@ -0,0 +1,131 @@
+package rebootedmvp.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Background purge of tombstoned courses and modules.
+ * Each pass finds rows with deleted_at set and deletes what hangs off them
+ * through {@link CourseCascadeDeleter}, one chunk per short transaction with a
+ * pause in between, so a large purge never holds a connection or locks for
+ * long. The tombstones themselves are the work queue: every committed chunk is
+ * progress, and after a restart the next pass carries on with whatever is
+ * left. Running on several instances at once is safe, as chunk deletes are
+ * idempotent.
+ */
+@Component
+public class CoursePurgeWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoursePurgeWorker.class);
+
+    private static final String PENDING_COURSES = "SELECT id FROM courses WHERE deleted_at IS NOT NULL "
+            + "ORDER BY deleted_at";
+
+    // Modules of tombstoned courses go with their course
+    private static final String PENDING_MODULES = "SELECT m.id FROM modules m "
+            + "JOIN courses c ON c.id = m.course_id "
+            + "WHERE m.deleted_at IS NOT NULL AND c.deleted_at IS NULL ORDER BY m.deleted_at";
+
+    @Autowired
+    private CourseCascadeDeleter courseCascadeDeleter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${purge.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${purge.chunk-pause-millis:200}")
+    private long chunkPauseMillis;
+
+    @Value("${purge.interval-seconds:30}")
+    private long intervalSeconds;
+
+    private final TransactionTemplate chunkTransaction;
+    private final ScheduledExecutorService scheduler;
+    private final Counter purgedRows;
+
+    public CoursePurgeWorker(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.purgedRows = Counter.builder("courses.purge.rows")
+                .description("Rows removed by the background purge of deleted courses and modules")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::purgePending, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Purges every pending course, then every pending module.
+     */
+    void purgePending() {
+        try {
+            for (Long courseId : jdbcTemplate.queryForList(PENDING_COURSES, Long.class)) {
+                if (!purge("course " + courseId, limit -> courseCascadeDeleter.deleteCourseChunk(courseId, limit))) {
+                    return;
+                }
+            }
+            for (Long moduleId : jdbcTemplate.queryForList(PENDING_MODULES, Long.class)) {
+                if (!purge("module " + moduleId, limit -> courseCascadeDeleter.deleteModuleChunk(moduleId, limit))) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule; the next pass retries
+            logger.error("Purge pass failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Returns false if interrupted by shutdown
+    private boolean purge(String target, IntUnaryOperator deleteChunk) {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        while (true) {
+            Integer deleted = chunkTransaction.execute(status -> deleteChunk.applyAsInt(chunkSize));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            total += deleted;
+            purgedRows.increment(deleted);
+            logger.debug("Purging {}: {} rows deleted so far", target, total);
+            try {
+                Thread.sleep(chunkPauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.info("Purge of {} interrupted after {} rows; will resume on next start", target, total);
+                return false;
+            }
+        }
+        logger.info("Purged {}: {} rows in {} ms", target, total, System.currentTimeMillis() - start);
+        return true;
+    }
+}
@@ -1,6 +1,11 @@
 package rebootedmvp.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -25,16 +30,23 @@ import rebootedmvp.domain.impl.ModuleEntityImpl;
 import rebootedmvp.domain.impl.StudentImpl;
 import rebootedmvp.domain.impl.TeacherImpl;
 import rebootedmvp.domain.impl.UserProfileImpl;
+import rebootedmvp.dto.ContentDTO;
 import rebootedmvp.dto.CourseDTO;
+import rebootedmvp.dto.CourseTreeDTO;
 import rebootedmvp.dto.ModuleDTO;
+import rebootedmvp.dto.ModuleTreeDTO;
 import rebootedmvp.dto.NewCourseDTO;
 import rebootedmvp.dto.NewModuleDTO;
 import rebootedmvp.exception.CoursePublishedException;
 import rebootedmvp.exception.UnauthorizedAccessException;
 import rebootedmvp.repository.ContentRepository;
 import rebootedmvp.repository.CourseRepository;
+import rebootedmvp.repository.CourseSummary;
 import rebootedmvp.repository.ModuleRepository;
+import rebootedmvp.repository.ModuleSummary;
 import rebootedmvp.repository.UserProfileRepository;
+import rebootedmvp.repository.VersionSummary;
+import rebootedmvp.service.PublishedCourseSnapshotCache.CourseSnapshot;
 
 @Service
 @Transactional
@@ -57,9 +69,18 @@ public class CourseService {
     @Autowired
     private AuthorizationService authorizationService;
 
+    @Autowired
+    private PublishedCourseSnapshotCache snapshotCache;
+
+    @Autowired
+    private CourseCascadeDeleter courseCascadeDeleter;
+
     @Autowired
     private AuthenticationContextService authContextService;
 
+    @Autowired
+    private UserProgressService userProgressService;
+
     /**
      * Returns a list of all modules from courses the current user has access to.
      * This replaces the previous findAll() method which was a security risk.
@@ -70,19 +91,22 @@ public class CourseService {
 
         // Get courses the current user has access to
         String userId = authContextService.getCurrentUserId();
-        List<Course> userCourses = courseRepository.findCoursesByUserId(userId)
-                .stream()
-                .map(CourseMapper::toDomain)
-                .toList();
+        List<Long> courseIds = courseRepository.findCourseIdsByUserId(userId);
+        if (courseIds.isEmpty()) {
+            return List.of();
+        }
 
-        // Get all modules from those courses
-        List<Module> userModules = userCourses.stream()
-                .flatMap(course -> moduleRepository.findByCourseIdOrderByCreatedAtAsc(course.getId())
-                        .stream()
-                        .map(ModuleMapper::toDomain))
+        // Get all modules (with content counts) from those courses in one query,
+        // grouped by course in the same order as the course list
+        Map<Long, Integer> courseOrder = new HashMap<>();
+        for (Long courseId : courseIds) {
+            courseOrder.put(courseId, courseOrder.size());
+        }
+        return moduleRepository.findSummariesByCourseIds(courseIds)
+                .stream()
+                .sorted(Comparator.comparing(module -> courseOrder.get(module.getCourseId())))
+                .map(ModuleDTO::new)
                 .toList();
-
-        return mapToDTO(userModules);
     }
 
     /**
@@ -94,9 +118,8 @@ public class CourseService {
         logger.debug("CourseService.getUserCourses() called - returning user's accessible courses");
 
         String userId = authContextService.getCurrentUserId();
-        return courseRepository.findCoursesByUserId(userId)
+        return courseRepository.findSummariesByUserId(userId)
                 .stream()
-                .map(CourseMapper::toDomain)
                 .map(CourseDTO::new)
                 .toList();
     }
@@ -117,10 +140,61 @@ public class CourseService {
         // Verify user has access to this course
         authorizationService.requireCourseAccess(courseId);
 
-        return mapToDTO(moduleRepository.findByCourseIdOrderByCreatedAtAsc(courseId)
+        return moduleRepository.findSummariesByCourseId(courseId)
                 .stream()
-                .map(ModuleMapper::toDomain)
-                .toList());
+                .map(ModuleDTO::new)
+                .toList();
+    }
+
+    /**
+     * Returns the version of the course's module list, for conditional GETs.
+     * Requires the current user to have access to the course.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getModulesVersion(Long courseId) {
+        VersionSummary course = requireCourseVersion(courseId);
+        return ResourceVersion.of("course-modules",
+                course,
+                moduleRepository.findVersionByCourseId(courseId),
+                contentRepository.findVersionByCourseId(courseId));
+    }
+
+    /**
+     * Returns the version of the course tree, for conditional GETs. The tree of
+     * a published course is sent gzipped to clients that accept it, so the
+     * encoding is part of the version.
+     * Requires the current user to have access to the course.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getTreeVersion(Long courseId, boolean acceptsGzip) {
+        VersionSummary course = requireCourseVersion(courseId);
+        return ResourceVersion.of(acceptsGzip ? "course-tree;gzip" : "course-tree",
+                course,
+                moduleRepository.findVersionByCourseId(courseId),
+                contentRepository.findVersionByCourseId(courseId));
+    }
+
+    /**
+     * Returns the version of a module within the course, for conditional GETs.
+     * Requires the current user to have access to the course.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getModuleVersion(Long courseId, Long moduleId) {
+        requireCourseVersion(courseId);
+        return ResourceVersion.of("course-module",
+                moduleRepository.findVersionById(moduleId),
+                contentRepository.findVersionByModuleId(moduleId));
+    }
+
+    private VersionSummary requireCourseVersion(Long courseId) {
+        VersionSummary course = courseRepository.findVersionById(courseId);
+        if (course.getCount() == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found with id: " + courseId);
+        }
+
+        // Verify user has access to this course
+        authorizationService.requireCourseAccess(courseId);
+        return course;
     }
 
     /**
@@ -138,12 +212,12 @@ public class CourseService {
         // Verify user has access to this course
         authorizationService.requireCourseAccess(courseId);
 
-        Optional<Module> moduleOpt = moduleRepository.findById(moduleId).map(ModuleMapper::toDomain);
+        Optional<ModuleSummary> moduleOpt = moduleRepository.findSummaryById(moduleId);
         if (moduleOpt.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Module not found with id: " + moduleId);
         }
 
-        Module module = moduleOpt.get();
+        ModuleSummary module = moduleOpt.get();
         if (!module.getCourseId().equals(courseId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                     "Module " + moduleId + " does not belong to course " + courseId);
@@ -152,6 +226,74 @@ public class CourseService {
         return new ModuleDTO(module);
     }
 
+    /**
+     * Returns the whole course: its modules and all of their content, including
+     * multiple choice options and matching pairs.
+     * Loads with a fixed number of queries regardless of course size and checks
+     * access once. Requires the current user to have access to the course.
+     */
+    @Transactional(readOnly = true)
+    public CourseTreeDTO getTree(Long courseId) {
+        logger.debug("CourseService.getTree({}) called - getting full course tree", courseId);
+
+        // Verify user has access to this course first, so callers without
+        // access can't tell missing courses from existing ones
+        authorizationService.requireCourseAccess(courseId);
+
+        CourseSummary course = courseRepository.findSummaryById(courseId).orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found with id: " + courseId));
+
+        return buildTree(course);
+    }
+
+    /**
+     * Returns the pre-serialized tree of a published course, or empty if the
+     * course is not published. Apart from a version lookup this is served from
+     * memory once the snapshot exists.
+     * Requires the current user to have access to the course.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CourseSnapshot> getPublishedTreeSnapshot(Long courseId) {
+        logger.debug("CourseService.getPublishedTreeSnapshot({}) called", courseId);
+
+        Optional<LocalDateTime> version = courseRepository.findPublishedVersion(courseId);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Verify user has access to this course
+        authorizationService.requireCourseAccess(courseId);
+
+        return Optional.of(snapshotCache.get(courseId, version.get(),
+                () -> buildTree(courseRepository.findSummaryById(courseId).orElseThrow(
+                        () -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                                "Course not found with id: " + courseId)))));
+    }
+
+    private CourseTreeDTO buildTree(CourseSummary course) {
+        Long courseId = course.getId();
+        List<ModuleSummary> modules = moduleRepository.findSummariesByCourseId(courseId);
+        Map<Long, List<ContentDTO>> contentByModule = new HashMap<>();
+        for (ModuleSummary module : modules) {
+            contentByModule.put(module.getId(), new ArrayList<>());
+        }
+
+        if (!modules.isEmpty()) {
+            // Question options and matches live in the content row, so this
+            // one query loads everything
+            List<ContentEntityImpl> contents = contentRepository
+                    .findByModuleIdInOrderByCreatedAtAscIdAsc(contentByModule.keySet());
+            for (ContentEntityImpl content : contents) {
+                contentByModule.get(content.getModuleId()).add(ModuleService.convertToDTO(content));
+            }
+        }
+
+        List<ModuleTreeDTO> moduleTrees = modules.stream()
+                .map(module -> new ModuleTreeDTO(module, contentByModule.get(module.getId())))
+                .toList();
+        return new CourseTreeDTO(course, moduleTrees);
+    }
+
     /**
      * Adds a new module to the specified course.
      * Requires the current user to be a teacher of the course.
@@ -182,6 +324,7 @@ public class CourseService {
                 course);
 
         Module savedModule = moduleRepository.save(ModuleMapper.toEntity(module));
+        userProgressService.addModuleSlot(courseId, savedModule.getId());
         logger.info("Created module with ID: {} in course: {}", savedModule.getId(), courseId);
         return savedModule.getId();
     }
@@ -226,7 +369,8 @@ public class CourseService {
     }
 
     /**
-     * Deletes a module from a course using manual cascade deletion.
+     * Deletes a module from a course: it disappears from reads at once and its
+     * content and progress entries are purged in the background.
      * Requires the current user to be a teacher of the course.
      */
     @Transactional
@@ -252,29 +396,11 @@ public class CourseService {
             return false;
         }
 
-        Optional<Module> moduleOpt = moduleRepository.findById(moduleId).map(ModuleMapper::toDomain);
-        if (moduleOpt.isEmpty()) {
-            return false;
-        }
-
-        Module module = moduleOpt.get();
-        if (!module.getCourseId().equals(courseId)) {
+        if (!moduleRepository.existsByIdAndCourseId(moduleId, courseId)) {
             return false;
         }
 
-        // MANUAL CASCADE: Delete content first, then module
-        logger.debug("Deleting content for module ID: {}", moduleId);
-        List<ContentEntityImpl> contentList = contentRepository.findByModuleId(moduleId);
-        for (ContentEntityImpl content : contentList) {
-            contentRepository.deleteById(content.getId());
-            logger.debug("Deleted content with ID: {}", content.getId());
-        }
-        contentRepository.flush();
-
-        // Now delete the module safely
-        moduleRepository.deleteById(moduleId);
-        logger.info("Deleted module with ID: {} from course: {} (with {} content items)",
-                moduleId, courseId, contentList.size());
+        courseCascadeDeleter.markModuleDeleted(courseId, moduleId);
         return true;
     }
 
@@ -332,9 +458,4 @@ public class CourseService {
     // courseRepository.save(CourseMapper.toEntity(course)); // this is needed to
     // persist the join table change
     // }
-
-    private static List<ModuleDTO> mapToDTO(List<Module> toMap) {
-        return toMap.stream().map(
-                elem -> new ModuleDTO(elem)).toList();
-    }
 }
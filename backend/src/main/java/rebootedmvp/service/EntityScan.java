@@ -0,0 +1,39 @@
+package rebootedmvp.service;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Walks a repository result stream for full-table scans (exports, index
+ * builds), clearing the persistence context every {@value #CLEAR_INTERVAL}
+ * rows so memory use does not grow with the table. Must run inside a
+ * transaction; the stream is closed when the scan ends.
+ */
+final class EntityScan {
+
+    static final int CLEAR_INTERVAL = 500;
+
+    private EntityScan() {
+    }
+
+    /**
+     * Applies the action to every row and returns the number of rows seen.
+     */
+    static <E> long forEach(Stream<E> rows, EntityManager entityManager, Consumer<E> action) {
+        long count = 0;
+        try (rows) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    // Rows already handled are never read again
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
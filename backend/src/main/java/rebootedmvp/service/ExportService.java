@@ -0,0 +1,138 @@
+package rebootedmvp.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import rebootedmvp.UserMapper;
+import rebootedmvp.dto.ContentDTO;
+import rebootedmvp.dto.UserProfileDTO;
+import rebootedmvp.dto.UserProgressDTO;
+import rebootedmvp.exception.UnauthorizedAccessException;
+import rebootedmvp.repository.ContentRepository;
+import rebootedmvp.repository.UserProfileRepository;
+import rebootedmvp.repository.UserProgressRepository;
+
+/**
+ * Admin exports of whole tables as NDJSON or CSV.
+ * Rows are read through repository streams with a JDBC fetch size and written
+ * to the response as they arrive; the persistence context is cleared every
+ * {@value EntityScan#CLEAR_INTERVAL} rows, so memory use does not grow with
+ * table size.
+ * The admin check runs on the request thread, the export itself in its own
+ * read-only transaction on the async thread that writes the response.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private UserProgressRepository userProgressRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate exportTransaction;
+
+    public ExportService(PlatformTransactionManager transactionManager) {
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Exports every user profile.
+     *
+     * @throws UnauthorizedAccessException if the current user is not an admin
+     */
+    public StreamingResponseBody exportUsers(ExportFormat format) throws UnauthorizedAccessException {
+        authorizationService.requireAdmin();
+        Map<String, Function<UserProfileDTO, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", UserProfileDTO::getId);
+        columns.put("username", UserProfileDTO::getUsername);
+        columns.put("email", UserProfileDTO::getEmail);
+        columns.put("fullName", UserProfileDTO::getFullName);
+        columns.put("userType", UserProfileDTO::getUserType);
+        return export("users", format, userProfileRepository::streamAll,
+                user -> userProfileService.convertToDTO(UserMapper.toDomain(user)), columns);
+    }
+
+    /**
+     * Exports every user's course progress. CSV rows carry only the total
+     * progress; NDJSON rows include the per-module breakdown.
+     *
+     * @throws UnauthorizedAccessException if the current user is not an admin
+     */
+    public StreamingResponseBody exportProgress(ExportFormat format) throws UnauthorizedAccessException {
+        authorizationService.requireAdmin();
+        Map<String, Function<UserProgressDTO, Object>> columns = new LinkedHashMap<>();
+        columns.put("supabaseUserId", UserProgressDTO::getSupabaseUserId);
+        columns.put("courseId", UserProgressDTO::getCourseId);
+        columns.put("totalProgress", UserProgressDTO::getTotalProgress);
+        return export("progress", format, userProgressRepository::streamAll, UserProgressDTO::new, columns);
+    }
+
+    /**
+     * Exports all content. CSV rows carry the fields common to every content
+     * type; NDJSON rows include type-specific fields such as question options.
+     *
+     * @throws UnauthorizedAccessException if the current user is not an admin
+     */
+    public StreamingResponseBody exportContent(ExportFormat format) throws UnauthorizedAccessException {
+        authorizationService.requireAdmin();
+        Map<String, Function<ContentDTO, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", ContentDTO::getId);
+        columns.put("moduleId", ContentDTO::getModuleId);
+        columns.put("type", ContentDTO::getType);
+        columns.put("title", ContentDTO::getTitle);
+        columns.put("body", ContentDTO::getBody);
+        return export("content", format, contentRepository::streamAll, ModuleService::convertToDTO, columns);
+    }
+
+    private <E, T> StreamingResponseBody export(String name, ExportFormat format, Supplier<Stream<E>> rows,
+            Function<E, T> toRow, Map<String, Function<T, Object>> columns) {
+        return out -> {
+            ExportWriter<T> writer = new ExportWriter<>(out, format, objectMapper, columns);
+            long written = exportTransaction.execute(status -> EntityScan.forEach(rows.get(), entityManager, row -> {
+                try {
+                    writer.write(toRow.apply(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            writer.flush();
+            logger.info("Exported {} {} rows as {}", written, name, format);
+        };
+    }
+}
@@ -22,6 +22,7 @@ import rebootedmvp.domain.impl.MultipleChoiceQuestionContentImpl;
 import rebootedmvp.domain.impl.TextContentImpl;
 import rebootedmvp.domain.impl.VideoContentImpl;
 import rebootedmvp.dto.ContentDTO;
+import rebootedmvp.dto.CursorPage;
 import rebootedmvp.dto.ImageContentDTO;
 import rebootedmvp.dto.MatchingQuestionContentDTO;
 import rebootedmvp.dto.MultipleChoiceQuestionContentDTO;
@@ -36,6 +37,7 @@ import rebootedmvp.exception.CoursePublishedException;
 import rebootedmvp.repository.ContentRepository;
 import rebootedmvp.repository.CourseRepository;
 import rebootedmvp.repository.ModuleRepository;
+import rebootedmvp.repository.VersionSummary;
 
 @Service
 @Transactional
@@ -52,13 +54,47 @@ public class ModuleService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private UserProgressService userProgressService;
+
+    /**
+     * Returns one keyset page of the content in all modules, ordered by id
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ContentDTO> findAll(String cursor, Integer limit) {
+        logger.debug("ModuleService.findAll({}, {}) called - returning a page of all content", cursor, limit);
+        int pageSize = PageCursor.pageSize(limit);
+        return PageCursor.page(
+                contentRepository.findPageAfter(PageCursor.decodeLong(cursor), PageCursor.fetchLimit(pageSize)),
+                pageSize, ModuleService::convertToDTO, content -> PageCursor.encode(content.getId()));
+    }
+
+    /**
+     * Returns the version of the list of all content, for conditional GETs
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getAllVersion(String cursor, Integer limit) {
+        return ResourceVersion.of("contents;" + cursor + ";" + PageCursor.pageSize(limit),
+                contentRepository.findVersion());
+    }
+
     /**
-     * Returns a list of all content in all modules
+     * Returns the version of the specific content within the module, for
+     * conditional GETs
      */
     @Transactional(readOnly = true)
-    public List<ContentDTO> findAll() {
-        logger.debug("ModuleService.findAll() called - returning all content");
-        return mapToDTO(contentRepository.findAll().stream().map(ContentMapper::toDomain).toList());
+    public ResourceVersion getVersion(Long moduleId, Long contentId) {
+        VersionSummary module = moduleRepository.findVersionById(moduleId);
+        if (module.getCount() == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Module not found with id: " + moduleId);
+        }
+        if (!contentRepository.existsByIdAndModuleId(contentId, moduleId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Content " + contentId + " not found in module " + moduleId);
+        }
+        return ResourceVersion.of("module-content",
+                module,
+                contentRepository.findVersionById(contentId));
     }
 
     /**
@@ -72,7 +108,7 @@ public class ModuleService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Module not found with id: " + moduleId);
         }
 
-        return mapToDTO(contentRepository.findByModuleIdOrderByCreatedAtAsc(moduleId)
+        return mapToDTO(contentRepository.findByModuleIdOrderByCreatedAtAscIdAsc(moduleId)
                 .stream()
                 .map(ContentMapper::toDomain)
                 .toList());
@@ -162,6 +198,7 @@ public class ModuleService {
             }
 
         Content savedContent = contentRepository.save(ContentMapper.toEntity(content));
+        userProgressService.addContentSlot(module.getCourseId(), moduleId, savedContent.getId());
         logger.info("Created content with ID: {} in module: {}", savedContent.getId(), moduleId);
         return savedContent.getId();
     }
@@ -292,6 +329,7 @@ public class ModuleService {
             return false;
         }
 
+        userProgressService.removeContentSlot(module.getCourseId(), moduleId, contentId);
         contentRepository.deleteById(contentId);
         logger.info("Deleted content with ID: {} from module: {}", contentId, moduleId);
         return true;
@@ -302,7 +340,7 @@ public class ModuleService {
                 elem -> convertToDTO(elem)).toList();
     }
 
-    private static ContentDTO convertToDTO(Content content) {
+    static ContentDTO convertToDTO(Content content) {
         return switch (content.getType()) {
             case Text -> new TextContentDTO(
                     content.getId(),
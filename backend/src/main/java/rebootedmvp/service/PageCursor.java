@@ -0,0 +1,116 @@
+package rebootedmvp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+
+import rebootedmvp.dto.CursorPage;
+
+/**
+ * Encodes and decodes the continuation tokens of keyset-paginated lists.
+ * A cursor is the sort key of the last item returned, base64url-encoded so
+ * clients treat it as opaque. Pages are fetched with one extra row to tell
+ * whether another page follows, so no count query is ever needed.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 100;
+
+    public static final int MAX_LIMIT = 500;
+
+    private static final String SEPARATOR = ":";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Clamps a requested page size to [1, MAX_LIMIT], using DEFAULT_LIMIT if
+     * none was given.
+     */
+    public static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * The query limit for a page: one more than the page size.
+     */
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Returns the Long sort key stored in the cursor, or 0 for the first page.
+     */
+    public static Long decodeLong(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Returns the String sort key stored in the cursor, or "" for the first page.
+     */
+    public static String decodeString(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return "";
+        }
+        return decode(cursor, 1)[0];
+    }
+
+    /**
+     * Returns the parts of a composite sort key stored in the cursor.
+     */
+    public static String[] decodeParts(String cursor, int parts) {
+        return decode(cursor, parts);
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder joined = new StringBuilder();
+        for (Object key : keys) {
+            if (joined.length() > 0) {
+                joined.append(SEPARATOR);
+            }
+            joined.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joined.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link #fetchLimit(int)}: keeps the
+     * first 'pageSize' rows and, if there was an extra row, sets the cursor to
+     * the key of the last row kept.
+     */
+    public static <E, T> CursorPage<T> page(List<E> rows, int pageSize, Function<E, T> mapper,
+            Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageSize - 1)) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    private static String[] decode(String cursor, int parts) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        String[] split = decoded.split(SEPARATOR, parts);
+        if (split.length != parts) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return split;
+    }
+}
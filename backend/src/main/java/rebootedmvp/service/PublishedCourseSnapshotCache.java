@@ -0,0 +1,119 @@
+package rebootedmvp.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import rebootedmvp.dto.CourseTreeDTO;
+
+/**
+ * Pre-serialized course trees of published courses, keyed by course ID and the
+ * course's updatedAt, so reads of a published course skip both the database
+ * and Jackson.
+ * Published courses can't have their modules or content changed, so an entry
+ * only goes stale when the course row itself is updated (a new key) or when
+ * its membership changes; membership writes and course deletion must call
+ * {@link #evict(Long)}.
+ */
+@Service
+public class PublishedCourseSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublishedCourseSnapshotCache.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean gzip;
+
+    private final Cache<SnapshotKey, CourseSnapshot> cache;
+
+    public PublishedCourseSnapshotCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${cache.course-snapshots.maximum-bytes:67108864}") long maximumBytes,
+            @Value("${cache.course-snapshots.gzip:true}") boolean gzip) {
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((SnapshotKey key, CourseSnapshot snapshot) -> snapshot.size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "courses.snapshot");
+    }
+
+    /**
+     * Returns the snapshot of the course at the given version, building it from
+     * the loader's tree on a miss.
+     */
+    public CourseSnapshot get(Long courseId, LocalDateTime version, Supplier<CourseTreeDTO> loader) {
+        return cache.get(new SnapshotKey(courseId, version), key -> serialize(key, loader.get()));
+    }
+
+    /**
+     * Drops every snapshot of the course, now and again after the surrounding
+     * transaction commits.
+     */
+    public void evict(Long courseId) {
+        Runnable eviction = () -> cache.asMap().keySet().removeIf(key -> key.courseId().equals(courseId));
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private CourseSnapshot serialize(SnapshotKey key, CourseTreeDTO tree) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(tree);
+            byte[] gzipped = null;
+            if (gzip) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+                try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                    out.write(json);
+                }
+                gzipped = buffer.toByteArray();
+            }
+            logger.debug("Built snapshot of course {} ({} bytes, {} gzipped)", key.courseId(), json.length,
+                    gzipped != null ? gzipped.length : 0);
+            return new CourseSnapshot(json, gzipped);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize course " + key.courseId(), e);
+        }
+    }
+
+    /**
+     * The serialized course tree, and its gzip encoding if enabled. The arrays
+     * are shared between requests and must not be modified.
+     */
+    public record CourseSnapshot(byte[] json, byte[] gzipped) {
+
+        public boolean hasGzipped() {
+            return gzipped != null;
+        }
+
+        int size() {
+            return json.length + (gzipped != null ? gzipped.length : 0);
+        }
+    }
+
+    private record SnapshotKey(Long courseId, LocalDateTime version) {
+    }
+}
@@ -0,0 +1,78 @@
+package rebootedmvp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+import org.springframework.web.context.request.WebRequest;
+
+import rebootedmvp.repository.VersionSummary;
+
+/**
+ * Validators for a read endpoint's response, derived from the
+ * {@link VersionSummary} of every set of rows that goes into it: a strong ETag
+ * over all of their counts, ID sums and update times, and the latest update
+ * time as Last-Modified.
+ */
+public final class ResourceVersion {
+
+    private final String eTag;
+
+    private final long lastModified;
+
+    private ResourceVersion(String eTag, long lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Builds the version of a representation. 'representation' must differ
+     * between endpoints whose responses are built from the same rows.
+     */
+    public static ResourceVersion of(String representation, VersionSummary... parts) {
+        StringBuilder fingerprint = new StringBuilder(representation);
+        LocalDateTime latest = null;
+        for (VersionSummary part : parts) {
+            fingerprint.append('|').append(part.getCount())
+                    .append(':').append(part.getIdSum())
+                    .append(':').append(part.getLastModified());
+            if (part.getLastModified() != null && (latest == null || part.getLastModified().isAfter(latest))) {
+                latest = part.getLastModified();
+            }
+        }
+
+        long lastModified = latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        return new ResourceVersion("\"" + digest(fingerprint.toString()) + "\"", lastModified);
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Evaluates the request's If-None-Match / If-Modified-Since headers and sets
+     * ETag and Last-Modified on the response. Returns true if the client's copy
+     * is current, in which case the status is already 304 and the caller should
+     * return without a body.
+     */
+    public boolean checkNotModified(WebRequest request) {
+        return request.checkNotModified(eTag, lastModified);
+    }
+
+    private static String digest(String fingerprint) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
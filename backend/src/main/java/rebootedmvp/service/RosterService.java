@@ -1,5 +1,6 @@
 package rebootedmvp.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,17 +12,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import rebootedmvp.ContentMapper;
 import rebootedmvp.Course;
 import rebootedmvp.CourseMapper;
 import rebootedmvp.domain.impl.ContentEntityImpl;
 import rebootedmvp.domain.impl.CourseEntityImpl;
 import rebootedmvp.domain.impl.ModuleEntityImpl;
 import rebootedmvp.dto.CourseDTO;
+import rebootedmvp.dto.CourseImportDTO;
+import rebootedmvp.dto.CourseImportResultDTO;
+import rebootedmvp.dto.CursorPage;
+import rebootedmvp.dto.ModuleImportDTO;
+import rebootedmvp.dto.NewContentDTO;
 import rebootedmvp.dto.NewCourseDTO;
 import rebootedmvp.dto.NewRosterDTO;
 import rebootedmvp.repository.ContentRepository;
 import rebootedmvp.repository.CourseRepository;
 import rebootedmvp.repository.ModuleRepository;
+import rebootedmvp.repository.VersionSummary;
 import rebootedmvp.User;
 import rebootedmvp.exception.CoursePublishedException;
 import rebootedmvp.exception.UserNotAuthenticatedException;
@@ -40,10 +48,22 @@ public class RosterService {
     private ModuleRepository moduleRepository;
 
     @Autowired
-    private ContentRepository contentRepository;
+    private AuthenticationContextService authenticationContextService;
 
     @Autowired
-    private AuthenticationContextService authenticationContextService;
+    private CourseMembershipCache membershipCache;
+
+    @Autowired
+    private PublishedCourseSnapshotCache snapshotCache;
+
+    @Autowired
+    private CourseCascadeDeleter courseCascadeDeleter;
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private ContentRepository contentRepository;
 
     /**
      * Creates a new roster (for API compatibility - returns a constant ID)
@@ -57,16 +77,16 @@ public class RosterService {
     }
 
     /**
-     * Returns a list of all courses (what was previously "all courses in all
-     * rosters")
+     * Returns one keyset page of all courses (what was previously "all courses
+     * in all rosters"), ordered by id
      */
     @Transactional(readOnly = true)
-    public List<CourseDTO> findAll() {
-        logger.debug("RosterService.findAll() called - returning all courses");
-        return mapToDTO(courseRepository.findAll().stream()
-                .map(CourseMapper::toDomain)
-                .toList());
-
+    public CursorPage<CourseDTO> findAll(String cursor, Integer limit) {
+        logger.debug("RosterService.findAll({}, {}) called - returning a page of all courses", cursor, limit);
+        int pageSize = PageCursor.pageSize(limit);
+        return PageCursor.page(
+                courseRepository.findSummariesAfter(PageCursor.decodeLong(cursor), PageCursor.fetchLimit(pageSize)),
+                pageSize, CourseDTO::new, course -> PageCursor.encode(course.getId()));
     }
 
     /**
@@ -76,25 +96,48 @@ public class RosterService {
     public CourseDTO getById(Long courseId) {
         logger.debug("RosterService.getById({}) called - returning course with called id (roster ID ignored)",
                 courseId);
-        Course c = courseRepository.findById(courseId)
+        return courseRepository.findSummaryById(courseId)
+                .map(CourseDTO::new)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Course not found with id: " + courseId));
-        return new CourseDTO(c);
     }
 
     /**
-     * Returns a specific course (roster ID is ignored, course ID is used directly)
+     * Returns the version of the course list, for conditional GETs
      */
     @Transactional(readOnly = true)
-    public CourseDTO getById(Long rosterId, Long courseId) {
-        logger.debug("RosterService.getById({}, {}) called - getting specific course", rosterId, courseId);
+    public ResourceVersion getAllVersion(String cursor, Integer limit) {
+        return ResourceVersion.of("courses;" + cursor + ";" + PageCursor.pageSize(limit),
+                courseRepository.findVersion(),
+                moduleRepository.findVersion());
+    }
 
-        Optional<Course> courseOpt = (courseRepository.findById(courseId)).map(CourseMapper::toDomain);
-        if (courseOpt.isEmpty()) {
+    /**
+     * Returns the version of the course with id given by 'courseId', for
+     * conditional GETs
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getVersion(Long courseId) {
+        VersionSummary course = courseRepository.findVersionById(courseId);
+        if (course.getCount() == 0) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found with id: " + courseId);
         }
+        return ResourceVersion.of("course",
+                course,
+                moduleRepository.findVersionByCourseId(courseId));
+    }
 
-        return new CourseDTO(courseOpt.get());
+    /**
+     * Returns a specific course (roster ID is ignored, course ID is used directly)
+     */
+    @Transactional(readOnly = true)
+    public CourseDTO getById(Long rosterId, Long courseId) {
+        logger.debug("RosterService.getById({}, {}) called - getting specific course", rosterId, courseId);
+
+        return courseRepository.findSummaryById(courseId)
+                .map(CourseDTO::new)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Course not found with id: " + courseId));
     }
 
     /**
@@ -124,10 +167,82 @@ public class RosterService {
         }
 
         CourseEntityImpl savedCourse = courseRepository.save(course);
+        membershipCache.invalidateCourse(savedCourse.getId());
         logger.info("Created course with ID: {} and auto-enrolled creator as teacher", savedCourse.getId());
         return savedCourse.getId();
     }
 
+    /**
+     * Creates a whole course from one document: the course, its modules and
+     * their content, in a single transaction with batched inserts. The current
+     * user becomes its teacher. Every item is checked with the same rules as
+     * ContentService.create; if any fails nothing is saved and the
+     * IllegalArgumentException names the module and item at fault.
+     */
+    public CourseImportResultDTO importCourse(CourseImportDTO courseImportDTO) {
+        logger.debug("RosterService.importCourse({}) called", courseImportDTO.getTitle());
+
+        if (courseImportDTO.getTitle() == null || courseImportDTO.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("The title must be supplied in the DTO");
+        }
+        List<ModuleImportDTO> moduleDTOs = courseImportDTO.getModules() != null
+                ? courseImportDTO.getModules()
+                : List.of();
+        for (int i = 0; i < moduleDTOs.size(); i++) {
+            ModuleImportDTO moduleDTO = moduleDTOs.get(i);
+            if (moduleDTO.getTitle() == null || moduleDTO.getTitle().trim().isEmpty()) {
+                throw new IllegalArgumentException("Module " + i + ": the title must be supplied in the DTO");
+            }
+        }
+
+        User currentUser = authenticationContextService.getCurrentUser();
+        CourseEntityImpl course = new CourseEntityImpl(
+                courseImportDTO.getTitle().trim(),
+                courseImportDTO.getBody());
+        course.addTeacher(currentUser);
+        Long courseId = courseRepository.save(course).getId();
+
+        // IDs come from pooled sequences at persist time, so nothing is
+        // flushed until commit and each table's rows go out as JDBC batches.
+        // Rows are persisted in document order, so their IDs increase in that
+        // order and break the ties between equal createdAt values in listings
+        List<ModuleEntityImpl> modules = new ArrayList<>(moduleDTOs.size());
+        for (ModuleImportDTO moduleDTO : moduleDTOs) {
+            modules.add(new ModuleEntityImpl(moduleDTO.getTitle().trim(), moduleDTO.getBody(), courseId));
+        }
+        moduleRepository.saveAll(modules);
+
+        List<Long> moduleIds = new ArrayList<>(modules.size());
+        List<List<ContentEntityImpl>> contents = new ArrayList<>(modules.size());
+        List<ContentEntityImpl> allContents = new ArrayList<>();
+        for (int i = 0; i < modules.size(); i++) {
+            Long moduleId = modules.get(i).getId();
+            List<NewContentDTO> contentDTOs = moduleDTOs.get(i).getContents() != null
+                    ? moduleDTOs.get(i).getContents()
+                    : List.of();
+            List<ContentEntityImpl> moduleContents = new ArrayList<>(contentDTOs.size());
+            for (int j = 0; j < contentDTOs.size(); j++) {
+                try {
+                    moduleContents.add(ContentMapper.toEntity(contentService.build(contentDTOs.get(j), moduleId)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Module " + i + ", content " + j + ": " + e.getMessage(), e);
+                }
+            }
+            moduleIds.add(moduleId);
+            contents.add(moduleContents);
+            allContents.addAll(moduleContents);
+        }
+        contentRepository.saveAll(allContents);
+
+        List<List<Long>> contentIds = contents.stream()
+                .map(moduleContents -> moduleContents.stream().map(ContentEntityImpl::getId).toList())
+                .toList();
+        membershipCache.invalidateCourse(courseId);
+        logger.info("Imported course with ID: {} ({} modules, {} content items)", courseId, modules.size(),
+                allContents.size());
+        return new CourseImportResultDTO(courseId, moduleIds, contentIds);
+    }
+
     /**
      * Updates a course (roster ID is ignored, course ID is used directly)
      */
@@ -156,8 +271,9 @@ public class RosterService {
     }
 
     /**
-     * Deletes a course using manual cascade deletion (roster ID is ignored, course
-     * ID is used directly)
+     * Deletes a course: it disappears from reads at once and its modules,
+     * content, memberships and progress are purged in the background (roster ID
+     * is ignored, course ID is used directly)
      */
     public boolean delete(Long rosterId, Long courseId) {
         logger.debug("RosterService.delete({}, {}) called", rosterId, courseId);
@@ -166,41 +282,10 @@ public class RosterService {
             return false;
         }
 
-        // MANUAL CASCADE: Delete in dependency order (Content → Modules → Course)
-        logger.debug("Starting manual cascade deletion for course ID: {}", courseId);
-
-        // 1. Find all modules for this course
-        List<ModuleEntityImpl> modules = moduleRepository.findByCourseId(courseId);
-        logger.debug("Found {} modules to delete for course {}", modules.size(), courseId);
-
-        // 2. Delete content and modules
-        int totalContentDeleted = 0;
-        for (ModuleEntityImpl module : modules) {
-            // Delete all content for this module
-            List<ContentEntityImpl> contentList = contentRepository.findByModuleId(module.getId());
-            for (ContentEntityImpl content : contentList) {
-                contentRepository.deleteById(content.getId());
-                totalContentDeleted++;
-            }
-            contentRepository.flush();
-            logger.debug("Deleted {} content items for module {}", contentList.size(), module.getId());
-
-            // Delete the module
-            moduleRepository.deleteById(module.getId());
-            logger.debug("Deleted module with ID: {}", module.getId());
-        }
-        moduleRepository.flush();
-
-        // 3. Finally delete the course
-        courseRepository.deleteById(courseId);
-        logger.info("Deleted course with ID: {} (deleted {} modules and {} content items)",
-                courseId, modules.size(), totalContentDeleted);
+        courseCascadeDeleter.markCourseDeleted(courseId);
+        membershipCache.invalidateCourse(courseId);
+        snapshotCache.evict(courseId);
         return true;
     }
 
-    private static List<CourseDTO> mapToDTO(List<Course> toMap) {
-        return toMap.stream().map(
-                elem -> new CourseDTO(elem)).toList();
-    }
-
 }
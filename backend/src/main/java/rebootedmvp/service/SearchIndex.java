@@ -0,0 +1,263 @@
+package rebootedmvp.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import rebootedmvp.Content;
+import rebootedmvp.Course;
+import rebootedmvp.Module;
+import rebootedmvp.repository.ContentRepository;
+import rebootedmvp.repository.CourseRepository;
+import rebootedmvp.repository.ModuleRepository;
+
+/**
+ * In-memory trigram inverted index over the titles and bodies of courses,
+ * modules and content.
+ * Text is split into words and each word padded pg_trgm style ("  word "), so
+ * short queries and word prefixes still produce trigrams. A document matches
+ * when it contains at least {@value #MIN_COVERAGE} of the query's trigrams;
+ * title matches weigh {@value #TITLE_WEIGHT}x body matches in the ranking.
+ * The index is built from a streaming scan once the application is ready and
+ * kept current by {@link SearchIndexListener} as entities are saved and
+ * deleted.
+ */
+@Service
+public class SearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    static final double MIN_COVERAGE = 0.5;
+
+    static final int TITLE_WEIGHT = 2;
+
+    private static final int IN_TITLE = 1;
+    private static final int IN_BODY = 2;
+
+    public enum Kind {
+        COURSE,
+        MODULE,
+        CONTENT
+    }
+
+    /**
+     * A ranked match. courseId is resolved through the module for content.
+     */
+    public record Hit(Kind kind, Long id, Long courseId, Long moduleId, String title, double score) {
+    }
+
+    private record DocKey(Kind kind, Long id) {
+    }
+
+    private record Doc(DocKey key, Long courseId, Long moduleId, String title, Set<String> grams) {
+    }
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<DocKey, Doc> docs = new HashMap<>();
+
+    // trigram -> document -> IN_TITLE / IN_BODY flags
+    private final Map<String, Map<DocKey, Integer>> postings = new HashMap<>();
+
+    private final Map<Long, Long> courseIdByModule = new HashMap<>();
+
+    /**
+     * Indexes every course, module and content item.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        TransactionTemplate scan = new TransactionTemplate(transactionManager);
+        scan.setReadOnly(true);
+        long indexed = scan.execute(status -> EntityScan.forEach(courseRepository.streamAll(), entityManager,
+                this::index)
+                + EntityScan.forEach(moduleRepository.streamAll(), entityManager, this::index)
+                + EntityScan.forEach(contentRepository.streamAll(), entityManager, this::index));
+        logger.info("Search index built with {} documents in {} ms", indexed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds or replaces the document for a course, module or content entity.
+     * Other objects are ignored.
+     */
+    public void index(Object entity) {
+        if (entity instanceof Course course) {
+            put(Kind.COURSE, course.getId(), course.getId(), null, course.getTitle(), course.getBody());
+        } else if (entity instanceof Module module) {
+            put(Kind.MODULE, module.getId(), module.getCourseId(), module.getId(), module.getTitle(),
+                    module.getBody());
+        } else if (entity instanceof Content content) {
+            put(Kind.CONTENT, content.getId(), null, content.getModuleId(), content.getTitle(), content.getBody());
+        }
+    }
+
+    /**
+     * Drops the document for a course, module or content entity.
+     */
+    public void remove(Object entity) {
+        if (entity instanceof Course course) {
+            remove(Kind.COURSE, course.getId());
+        } else if (entity instanceof Module module) {
+            remove(Kind.MODULE, module.getId());
+        } else if (entity instanceof Content content) {
+            remove(Kind.CONTENT, content.getId());
+        }
+    }
+
+    void put(Kind kind, Long id, Long courseId, Long moduleId, String title, String body) {
+        if (id == null) {
+            return;
+        }
+        DocKey key = new DocKey(kind, id);
+        Set<String> titleGrams = trigrams(title);
+        Set<String> bodyGrams = trigrams(body);
+        Set<String> grams = new HashSet<>(titleGrams);
+        grams.addAll(bodyGrams);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            docs.put(key, new Doc(key, courseId, moduleId, title, grams));
+            for (String gram : grams) {
+                int flags = (titleGrams.contains(gram) ? IN_TITLE : 0) | (bodyGrams.contains(gram) ? IN_BODY : 0);
+                postings.computeIfAbsent(gram, g -> new HashMap<>()).put(key, flags);
+            }
+            if (kind == Kind.MODULE) {
+                courseIdByModule.put(id, courseId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Kind kind, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(new DocKey(kind, id));
+            if (kind == Kind.MODULE) {
+                courseIdByModule.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(DocKey key) {
+        Doc doc = docs.remove(key);
+        if (doc == null) {
+            return;
+        }
+        for (String gram : doc.grams()) {
+            Map<DocKey, Integer> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(key);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns every document matching the query, best first. Access filtering
+     * is left to the caller.
+     */
+    public List<Hit> search(String query) {
+        Set<String> queryGrams = trigrams(query);
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<DocKey, int[]> matches = new HashMap<>();
+            for (String gram : queryGrams) {
+                Map<DocKey, Integer> posting = postings.get(gram);
+                if (posting == null) {
+                    continue;
+                }
+                posting.forEach((key, flags) -> {
+                    // [grams matched anywhere, in title, in body]
+                    int[] counts = matches.computeIfAbsent(key, k -> new int[3]);
+                    counts[0]++;
+                    if ((flags & IN_TITLE) != 0) {
+                        counts[1]++;
+                    }
+                    if ((flags & IN_BODY) != 0) {
+                        counts[2]++;
+                    }
+                });
+            }
+
+            int minMatched = (int) Math.ceil(queryGrams.size() * MIN_COVERAGE);
+            matches.forEach((key, counts) -> {
+                if (counts[0] < minMatched) {
+                    return;
+                }
+                Doc doc = docs.get(key);
+                Long courseId = key.kind() == Kind.CONTENT ? courseIdByModule.get(doc.moduleId()) : doc.courseId();
+                double score = (double) (counts[1] * TITLE_WEIGHT + counts[2])
+                        / (queryGrams.size() * (TITLE_WEIGHT + 1));
+                hits.add(new Hit(key.kind(), key.id(), courseId, doc.moduleId(), doc.title(), score));
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(Hit::kind)
+                .thenComparing(Hit::id));
+        return hits;
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+}
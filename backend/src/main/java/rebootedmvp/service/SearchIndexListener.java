@@ -0,0 +1,61 @@
+package rebootedmvp.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener on courses, modules, content and users that keeps the
+ * {@link SearchIndex} and {@link UserSearchIndex} current. Changes are applied after the transaction
+ * commits, so rolled-back writes never reach the index.
+ * Bulk JPQL/SQL deletes bypass entity callbacks and must update the index
+ * themselves.
+ */
+@Component
+public class SearchIndexListener {
+
+    // Resolved lazily: Hibernate creates listeners while the EntityManagerFactory
+    // that the index depends on is still being built
+    @Autowired
+    private ObjectProvider<SearchIndex> searchIndex;
+
+    @Autowired
+    private ObjectProvider<UserSearchIndex> userSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        afterCommit(() -> {
+            searchIndex.getObject().index(entity);
+            userSearchIndex.getObject().index(entity);
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        afterCommit(() -> {
+            searchIndex.getObject().remove(entity);
+            userSearchIndex.getObject().remove(entity);
+        });
+    }
+
+    // Also used by bulk deletes that bypass the entity callbacks
+    static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package rebootedmvp.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import rebootedmvp.CourseRole;
+import rebootedmvp.User;
+import rebootedmvp.dto.SearchResultDTO;
+import rebootedmvp.exception.UserNotAuthenticatedException;
+
+/**
+ * Searches course, module and content text through the in-memory
+ * {@link SearchIndex}, keeping only matches in courses the caller teaches or
+ * takes.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    static final int DEFAULT_LIMIT = 20;
+
+    static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private AuthenticationContextService authContextService;
+
+    /**
+     * Returns the best matches for the query, at most 'limit' of them.
+     *
+     * @throws IllegalArgumentException if the query is blank
+     */
+    public List<SearchResultDTO> search(String query, Integer limit) throws UserNotAuthenticatedException {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("The search query must not be empty");
+        }
+        int maxResults = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        User user = authContextService.getCurrentUser();
+
+        List<SearchIndex.Hit> hits = searchIndex.search(query);
+        Set<Long> courseIds = new HashSet<>();
+        for (SearchIndex.Hit hit : hits) {
+            if (hit.courseId() != null) {
+                courseIds.add(hit.courseId());
+            }
+        }
+        Map<Long, CourseRole> roles = authorizationService.getCourseRoles(courseIds, user);
+
+        List<SearchResultDTO> results = hits.stream()
+                .filter(hit -> roles.getOrDefault(hit.courseId(), CourseRole.NONE) != CourseRole.NONE)
+                .limit(maxResults)
+                .map(SearchResultDTO::new)
+                .toList();
+        logger.debug("Search '{}' matched {} documents, {} accessible results returned", query, hits.size(),
+                results.size());
+        return results;
+    }
+}
@@ -0,0 +1,119 @@
+package rebootedmvp.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import rebootedmvp.User;
+import rebootedmvp.UserMapper;
+import rebootedmvp.repository.UserProfileRepository;
+
+/**
+ * Caches resolved user profiles by Supabase user ID.
+ * Lookups are memoized for the duration of the current HTTP request, on top of
+ * bounded cross-request caches: found users for cache.users.ttl-seconds and
+ * unknown IDs (signup not finished) for the shorter
+ * cache.users.negative-ttl-seconds. Any write to a user profile must call
+ * {@link #invalidate(String)}.
+ * Cached users are detached entities shared between requests, so callers
+ * should only read their basic fields and must not navigate lazy associations.
+ */
+@Service
+public class UserPrincipalCache {
+
+    private static final String REQUEST_MEMO_ATTRIBUTE = UserPrincipalCache.class.getName() + ".memo";
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    private final Cache<String, User> cache;
+
+    // Supabase users with no backend profile yet (signup not finished)
+    private final Cache<String, Boolean> unknownUsers;
+
+    public UserPrincipalCache(MeterRegistry meterRegistry,
+            @Value("${cache.users.ttl-seconds:300}") long ttlSeconds,
+            @Value("${cache.users.negative-ttl-seconds:30}") long negativeTtlSeconds,
+            @Value("${cache.users.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.unknownUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.principal");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownUsers, "users.principal.unknown");
+    }
+
+    /**
+     * Finds a user by Supabase user ID, hitting the database at most once per
+     * request and not at all while the user is in the cross-request cache.
+     */
+    public Optional<User> findBySupabaseUserId(String supabaseUserId) {
+        Map<String, User> memo = requestMemo();
+        if (memo != null && memo.containsKey(supabaseUserId)) {
+            return Optional.ofNullable(memo.get(supabaseUserId));
+        }
+
+        User user = cache.getIfPresent(supabaseUserId);
+        if (user == null && unknownUsers.getIfPresent(supabaseUserId) == null) {
+            user = userProfileRepository.findBySupabaseUserId(supabaseUserId)
+                    .map(UserMapper::toDomain)
+                    .orElse(null);
+            if (user != null) {
+                cache.put(supabaseUserId, user);
+            } else {
+                unknownUsers.put(supabaseUserId, Boolean.TRUE);
+            }
+        }
+
+        if (memo != null) {
+            memo.put(supabaseUserId, user);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    /**
+     * Drops everything cached about a user, positive or negative, from the
+     * cross-request caches and the current request's memo.
+     */
+    public void invalidate(String supabaseUserId) {
+        cache.invalidate(supabaseUserId);
+        unknownUsers.invalidate(supabaseUserId);
+        Map<String, User> memo = requestMemo();
+        if (memo != null) {
+            memo.remove(supabaseUserId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, User> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, User> memo = (Map<String, User>) attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
@@ -1,7 +1,14 @@
 package rebootedmvp.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +20,9 @@ import rebootedmvp.UserMapper;
 import rebootedmvp.domain.impl.AdminImpl;
 import rebootedmvp.domain.impl.StudentImpl;
 import rebootedmvp.domain.impl.TeacherImpl;
+import rebootedmvp.domain.impl.UserProfileImpl;
 import rebootedmvp.dto.AdminDTO;
+import rebootedmvp.dto.CursorPage;
 import rebootedmvp.dto.NewAdminDTO;
 import rebootedmvp.dto.NewStudentDTO;
 import rebootedmvp.dto.NewTeacherDTO;
@@ -27,21 +36,33 @@ public class UserProfileService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserProfileService.class);
 
+    static final int SEARCH_DEFAULT_LIMIT = 10;
+
+    static final int SEARCH_MAX_LIMIT = 50;
+
+    // Keeps IN lists well under PostgreSQL's bind parameter limit
+    static final int USERNAME_CHUNK_SIZE = 1000;
+
     @Autowired
     private UserProfileRepository userProfileRepository;
 
-    public List<UserProfileDTO> findAll() {
-        logger.debug("UserProfileService.findAll() called");
-        try {
-            List<UserProfileDTO> result = userProfileRepository.findAll().stream()
-                    .map(this::convertToDTO)
-                    .toList();
-            logger.debug("UserProfileService.findAll() returning {} users", result.size());
-            return result;
-        } catch (Exception e) {
-            logger.error("Error in UserProfileService.findAll(): {}", e.getMessage(), e);
-            throw e;
-        }
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    /**
+     * Returns one keyset page of all users, ordered by Supabase user ID
+     */
+    public CursorPage<UserProfileDTO> findAll(String cursor, Integer limit) {
+        logger.debug("UserProfileService.findAll({}, {}) called", cursor, limit);
+        int pageSize = PageCursor.pageSize(limit);
+        CursorPage<UserProfileDTO> page = PageCursor.page(
+                userProfileRepository.findPageAfter(PageCursor.decodeString(cursor), PageCursor.fetchLimit(pageSize)),
+                pageSize, this::convertToDTO, user -> PageCursor.encode(user.getSupabaseUserId()));
+        logger.debug("UserProfileService.findAll() returning {} users", page.getItems().size());
+        return page;
     }
 
     public UserProfileDTO findById(String supabaseUserId) {
@@ -118,12 +139,57 @@ public class UserProfileService {
         }
     }
 
+    /**
+     * The outcome of resolving a list of usernames: the users found, keyed by
+     * username in input order, and the usernames with no matching user.
+     */
+    public record UsernameResolution(Map<String, User> found, List<String> missing) {
+
+        public boolean allFound() {
+            return missing.isEmpty();
+        }
+    }
+
+    /**
+     * Resolves usernames to users with one IN query per
+     * {@value #USERNAME_CHUNK_SIZE} distinct names, rather than one query per
+     * name. Duplicates are collapsed; blank names are reported as missing.
+     */
+    public UsernameResolution resolveUsernames(Collection<String> usernames) {
+        Set<String> distinct = new LinkedHashSet<>();
+        List<String> missing = new ArrayList<>();
+        for (String username : usernames) {
+            if (username == null || username.isBlank()) {
+                missing.add(username);
+            } else {
+                distinct.add(username);
+            }
+        }
+
+        Map<String, User> loaded = new HashMap<>();
+        List<String> names = new ArrayList<>(distinct);
+        for (int from = 0; from < names.size(); from += USERNAME_CHUNK_SIZE) {
+            List<String> chunk = names.subList(from, Math.min(from + USERNAME_CHUNK_SIZE, names.size()));
+            for (UserProfileImpl user : userProfileRepository.findByUsernameIn(chunk)) {
+                loaded.put(user.getUsername(), UserMapper.toDomain(user));
+            }
+        }
+
+        Map<String, User> found = new LinkedHashMap<>();
+        for (String username : names) {
+            User user = loaded.get(username);
+            if (user != null) {
+                found.put(username, user);
+            } else {
+                missing.add(username);
+            }
+        }
+        logger.debug("Resolved {} usernames: {} found, {} missing", usernames.size(), found.size(), missing.size());
+        return new UsernameResolution(found, missing);
+    }
+
     public List<UserProfileDTO> findByUsernames(List<String> usernames) {
-        List<User> profiles = userProfileRepository.findByUsernameIn(usernames)
-                .stream()
-                .map(UserMapper::toDomain)
-                .toList();
-        return profiles.stream()
+        return resolveUsernames(usernames).found().values().stream()
                 .map(this::convertToDTO)
                 .toList();
     }
@@ -133,8 +199,9 @@ public class UserProfileService {
     }
 
     public List<String> validateUsernames(List<String> usernames) {
+        Set<String> found = resolveUsernames(usernames).found().keySet();
         return usernames.stream()
-                .filter(this::validateUsername)
+                .filter(found::contains)
                 .toList();
     }
 
@@ -151,6 +218,7 @@ public class UserProfileService {
      */
     public UserProfileDTO save(User userProfile) {
         User saved = userProfileRepository.save(UserMapper.toEntity(userProfile));
+        userPrincipalCache.invalidate(saved.getSupabaseUserId());
         return convertToDTO(saved);
     }
 
@@ -161,6 +229,7 @@ public class UserProfileService {
             throw new IllegalArgumentException("The user's name must be supplied in the DTO");
         }
         userProfileRepository.save(new TeacherImpl(supabaseUserId, newUserDTO));
+        userPrincipalCache.invalidate(supabaseUserId);
     }
 
     public void addStudent(String supabaseUserId, NewStudentDTO newUserDTO) {
@@ -169,6 +238,7 @@ public class UserProfileService {
             throw new IllegalArgumentException("The user's name must be supplied in the DTO");
         }
         userProfileRepository.save(new StudentImpl(supabaseUserId, newUserDTO));
+        userPrincipalCache.invalidate(supabaseUserId);
     }
 
     public void addAdmin(String supabaseUserId, NewAdminDTO newUserDTO) {
@@ -177,6 +247,7 @@ public class UserProfileService {
             throw new IllegalArgumentException("The user's name must be supplied in the DTO");
         }
         userProfileRepository.save(new AdminImpl(supabaseUserId, newUserDTO));
+        userPrincipalCache.invalidate(supabaseUserId);
     }
 
     /**
@@ -192,22 +263,34 @@ public class UserProfileService {
             profile.ifPresent(
                     userProfile -> userProfileRepository.deleteById(userProfile.getSupabaseUserId()));
         }
+        userPrincipalCache.invalidate(supabaseUserId);
     }
 
     /**
-     * Search users by username or full name
+     * Autocomplete over usernames and full names, served from the in-memory
+     * {@link UserSearchIndex}: prefix matches first, then infix matches.
+     *
+     * @throws IllegalArgumentException if the query is blank
      */
-    public List<UserProfileDTO> searchUsers(String searchTerm) {
-        List<User> profiles = userProfileRepository.findByUsernameContainingIgnoreCase(searchTerm)
-                .stream()
-                .map(UserMapper::toDomain)
-                .toList();
-        return profiles.stream()
-                .map(this::convertToDTO)
+    public List<UserProfileDTO> searchUsers(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("The search query must not be empty");
+        }
+        int maxResults = limit == null || limit <= 0 ? SEARCH_DEFAULT_LIMIT : Math.min(limit, SEARCH_MAX_LIMIT);
+        return userSearchIndex.search(query, maxResults).stream()
+                .map(UserProfileService::convertToDTO)
                 .toList();
     }
 
-    private UserProfileDTO convertToDTO(User profile) {
+    private static UserProfileDTO convertToDTO(UserSearchIndex.Entry entry) {
+        return switch (entry.userType()) {
+            case Teacher -> new TeacherDTO(entry.supabaseUserId(), entry.username(), entry.email(), entry.fullName());
+            case Student -> new StudentDTO(entry.supabaseUserId(), entry.username(), entry.email(), entry.fullName());
+            case Admin -> new AdminDTO(entry.supabaseUserId(), entry.username(), entry.email(), entry.fullName());
+        };
+    }
+
+    UserProfileDTO convertToDTO(User profile) {
         logger.debug("Converting UserProfileImpl to DTO: {}", profile);
         try {
             switch (profile.getUserType()) {
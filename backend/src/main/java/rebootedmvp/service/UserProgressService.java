@@ -1,7 +1,5 @@
 package rebootedmvp.service;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,13 +9,13 @@ import org.springframework.transaction.annotation.Transactional;
 import rebootedmvp.Course;
 import rebootedmvp.CourseDoesNotExistException;
 import rebootedmvp.CourseMapper;
-import rebootedmvp.domain.impl.BooleanEntry;
-import rebootedmvp.domain.impl.PairImpl;
 import rebootedmvp.domain.impl.ModuleEntityImpl;
 import rebootedmvp.domain.impl.UserProgress;
 import rebootedmvp.domain.impl.UserProgressId;
+import rebootedmvp.dto.CursorPage;
 import rebootedmvp.dto.UserProgressDTO;
 import rebootedmvp.exception.UserNotInCourseException;
+import rebootedmvp.repository.ContentRepository;
 import rebootedmvp.repository.CourseRepository;
 import rebootedmvp.repository.ModuleRepository;
 import rebootedmvp.repository.UserProgressRepository;
@@ -28,12 +26,14 @@ public class UserProgressService {
     private final UserProgressRepository userProgressRepository;
     private final CourseRepository courseRepository;
     private final ModuleRepository moduleRepository;
+    private final ContentRepository contentRepository;
 
     public UserProgressService(UserProgressRepository userProgressRepository, CourseRepository courseRepository,
-            ModuleRepository moduleRepository) {
+            ModuleRepository moduleRepository, ContentRepository contentRepository) {
         this.userProgressRepository = userProgressRepository;
         this.courseRepository = courseRepository;
         this.moduleRepository = moduleRepository;
+        this.contentRepository = contentRepository;
     }
 
     public UserProgressDTO getUserProgress(String supabaseUserId, Long courseId) {
@@ -54,16 +54,57 @@ public class UserProgressService {
 
     @Transactional
     public void createUserProgress(String supabaseUserId, Long courseId) {
-        UserProgressId id = new UserProgressId(supabaseUserId, courseId);
-        List<PairImpl> right = new ArrayList<>();
-        List<ModuleEntityImpl> modules = moduleRepository.findByCourseId(courseId);
-        for (ModuleEntityImpl module : modules) {
-            List<BooleanEntry> list = Collections.nCopies(module.getNumContents(), new BooleanEntry(false));
-            right.add(new PairImpl(0., list));
+        // Progress lines up with the course's modules in creation order, ties
+        // broken by ID, as they are listed
+        List<ModuleEntityImpl> modules = moduleRepository.findByCourseIdOrderByCreatedAtAscIdAsc(courseId);
+        int[] moduleSizes = modules.stream().mapToInt(ModuleEntityImpl::getNumContents).toArray();
+
+        userProgressRepository.save(new UserProgress(new UserProgressId(supabaseUserId, courseId), moduleSizes));
+    }
+
+    /**
+     * Opens an empty slot for a newly saved module in every progress row of
+     * its course. Must run in the transaction that saved the module.
+     */
+    @Transactional
+    public void addModuleSlot(Long courseId, Long moduleId) {
+        int slot = moduleRepository.findIdsByCourseId(courseId).indexOf(moduleId);
+        if (slot >= 0) {
+            for (UserProgress progress : userProgressRepository.findByIdCourseId(courseId)) {
+                progress.insertModule(slot);
+            }
         }
+    }
 
-        UserProgress progress = new UserProgress(id, 0.0, right);
-        userProgressRepository.save(progress);
+    /**
+     * Opens an uncompleted slot for a newly saved content item in every
+     * progress row of its course. Must run in the transaction that saved the
+     * content.
+     */
+    @Transactional
+    public void addContentSlot(Long courseId, Long moduleId, Long contentId) {
+        int slot = moduleRepository.findIdsByCourseId(courseId).indexOf(moduleId);
+        int item = contentRepository.findIdsByModuleId(moduleId).indexOf(contentId);
+        if (slot >= 0 && item >= 0) {
+            for (UserProgress progress : userProgressRepository.findByIdCourseId(courseId)) {
+                progress.insertItem(slot, item);
+            }
+        }
+    }
+
+    /**
+     * Drops a content item's slot from every progress row of its course.
+     * Must run before the content is deleted, in the same transaction.
+     */
+    @Transactional
+    public void removeContentSlot(Long courseId, Long moduleId, Long contentId) {
+        int slot = moduleRepository.findIdsByCourseId(courseId).indexOf(moduleId);
+        int item = contentRepository.findIdsByModuleId(moduleId).indexOf(contentId);
+        if (slot >= 0 && item >= 0) {
+            for (UserProgress progress : userProgressRepository.findByIdCourseId(courseId)) {
+                progress.removeItem(slot, item);
+            }
+        }
     }
 
     @Transactional
@@ -72,9 +113,28 @@ public class UserProgressService {
                 .orElseThrow(() -> new UserNotInCourseException(supabaseUserId, courseId)));
     }
 
-    @Transactional
-    public List<UserProgressDTO> getAllProgress() {
-        return userProgressRepository.findAll().stream().map(UserProgressDTO::new).toList();
+    /**
+     * Returns one keyset page of all progress rows, ordered by (courseId,
+     * supabaseUserId)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserProgressDTO> getAllProgress(String cursor, Integer limit) {
+        Long afterCourseId = 0L;
+        String afterUserId = "";
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] key = PageCursor.decodeParts(cursor, 2);
+            try {
+                afterCourseId = Long.parseLong(key[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            afterUserId = key[1];
+        }
+        int pageSize = PageCursor.pageSize(limit);
+        return PageCursor.page(
+                userProgressRepository.findPageAfter(afterCourseId, afterUserId, PageCursor.fetchLimit(pageSize)),
+                pageSize, UserProgressDTO::new,
+                progress -> PageCursor.encode(progress.getId().getCourseId(), progress.getId().getSupabaseUserId()));
     }
 
     @Transactional
@@ -83,7 +143,7 @@ public class UserProgressService {
         UserProgress toEdit = userProgressRepository.findByIdCourseIdAndIdSupabaseUserId(courseId, supabaseUserId)
                 .orElseThrow(
                         () -> new UserNotInCourseException(supabaseUserId, supabaseUserId));
-        toEdit.getProgress().get(moduleNum).setBool(contentNum, newStatus);
+        toEdit.setCompleted(moduleNum, contentNum, newStatus);
         userProgressRepository.save(toEdit);
     }
 }
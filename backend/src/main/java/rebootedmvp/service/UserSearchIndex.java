@@ -0,0 +1,436 @@
+package rebootedmvp.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import rebootedmvp.User;
+import rebootedmvp.repository.UserProfileRepository;
+
+/**
+ * In-memory index for username and full name autocomplete.
+ * A compressed (radix) trie over the lowercased username, full name and each
+ * full name word answers prefix queries; a trigram map answers infix queries,
+ * so "ohn" still finds "john". Prefix matches rank first, shortest key first,
+ * followed by infix matches by trigram coverage.
+ * Built from a streaming scan once the application is ready and kept current
+ * by {@link SearchIndexListener}. The approximate memory footprint is
+ * published as the users.search.index.bytes gauge.
+ */
+@Service
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    // Rough per-object costs on a 64-bit JVM with compressed oops, used only
+    // for the footprint estimate
+    private static final int OBJECT_BYTES = 32;
+    private static final int STRING_BYTES = 40;
+    private static final int MAP_ENTRY_BYTES = 40;
+
+    public record Entry(String supabaseUserId, String username, String email, String fullName,
+            User.UserType userType) {
+    }
+
+    public record Footprint(int users, int trieNodes, long trieChars, int trigrams, long postings,
+            long estimatedBytes) {
+    }
+
+    private static final class Node {
+        String label;
+        // Keyed by the first character of the child's label; null for leaves
+        Map<Character, Node> children;
+        // Users with a key ending at this node; null when none
+        Set<String> userIds;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private record Frontier(Node node, int depth) {
+    }
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node("");
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    // trigram -> IDs of users whose username or full name contains it
+    private final Map<String, Set<String>> postings = new HashMap<>();
+
+    public UserSearchIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("users.search.index.bytes", this, index -> index.footprint().estimatedBytes())
+                .description("Approximate heap used by the user search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("users.search.index.entries", this, index -> index.footprint().users())
+                .description("Users in the user search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexes every user profile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        TransactionTemplate scan = new TransactionTemplate(transactionManager);
+        scan.setReadOnly(true);
+        scan.executeWithoutResult(status -> EntityScan.forEach(userProfileRepository.streamAll(), entityManager,
+                this::index));
+        logger.info("User search index built in {} ms: {}", System.currentTimeMillis() - start, footprint());
+    }
+
+    /**
+     * Adds or replaces the entry for a user entity. Other objects are ignored.
+     */
+    public void index(Object entity) {
+        if (entity instanceof User user) {
+            put(new Entry(user.getSupabaseUserId(), user.getUsername(), user.getEmail(), user.getFullName(),
+                    user.getUserType()));
+        }
+    }
+
+    /**
+     * Drops the entry for a user entity. Other objects are ignored.
+     */
+    public void remove(Object entity) {
+        if (entity instanceof User user) {
+            remove(user.getSupabaseUserId());
+        }
+    }
+
+    void put(Entry entry) {
+        if (entry.supabaseUserId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.supabaseUserId());
+            entries.put(entry.supabaseUserId(), entry);
+            for (String key : keys(entry)) {
+                insert(key, entry.supabaseUserId());
+            }
+            for (String gram : grams(entry)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.supabaseUserId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String supabaseUserId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(supabaseUserId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String supabaseUserId) {
+        Entry entry = entries.remove(supabaseUserId);
+        if (entry == null) {
+            return;
+        }
+        for (String key : keys(entry)) {
+            delete(key, supabaseUserId);
+        }
+        for (String gram : grams(entry)) {
+            Set<String> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(supabaseUserId);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns up to 'limit' users matching the query: prefix matches on
+     * username, full name or a full name word first, then infix matches.
+     */
+    public List<Entry> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            LinkedHashSet<String> ids = new LinkedHashSet<>();
+            collectPrefix(normalized, limit, ids);
+            if (ids.size() < limit) {
+                collectInfix(normalized, limit, ids);
+            }
+            List<Entry> results = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                results.add(entries.get(id));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collectPrefix(String prefix, int limit, Set<String> out) {
+        Node node = root;
+        int depth = 0;
+        while (depth < prefix.length()) {
+            Node child = node.children == null ? null : node.children.get(prefix.charAt(depth));
+            if (child == null) {
+                return;
+            }
+            int remaining = prefix.length() - depth;
+            if (remaining <= child.label.length()) {
+                // The prefix ends on this edge
+                if (!child.label.startsWith(prefix.substring(depth))) {
+                    return;
+                }
+            } else if (!prefix.startsWith(child.label, depth)) {
+                return;
+            }
+            node = child;
+            depth += child.label.length();
+        }
+
+        // Best-first by key length, so exact and shorter completions come first
+        PriorityQueue<Frontier> queue = new PriorityQueue<>(Comparator.comparingInt(Frontier::depth));
+        queue.add(new Frontier(node, depth));
+        while (!queue.isEmpty() && out.size() < limit) {
+            Frontier next = queue.poll();
+            if (next.node().userIds != null) {
+                for (String id : new TreeSet<>(next.node().userIds)) {
+                    if (out.size() >= limit) {
+                        return;
+                    }
+                    out.add(id);
+                }
+            }
+            if (next.node().children != null) {
+                for (Node child : next.node().children.values()) {
+                    queue.add(new Frontier(child, next.depth() + child.label.length()));
+                }
+            }
+        }
+    }
+
+    private void collectInfix(String query, int limit, Set<String> out) {
+        Set<String> queryGrams = SearchIndex.trigrams(query);
+        if (queryGrams.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> matched = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<String> posting = postings.get(gram);
+            if (posting != null) {
+                for (String id : posting) {
+                    matched.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+        int minMatched = (int) Math.ceil(queryGrams.size() * SearchIndex.MIN_COVERAGE);
+        matched.entrySet().stream()
+                .filter(match -> match.getValue() >= minMatched && !out.contains(match.getKey()))
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit - out.size())
+                .forEach(match -> out.add(match.getKey()));
+    }
+
+    private void insert(String key, String userId) {
+        Node node = root;
+        int depth = 0;
+        while (depth < key.length()) {
+            Node child = node.children == null ? null : node.children.get(key.charAt(depth));
+            if (child == null) {
+                child = new Node(key.substring(depth));
+                addChild(node, child);
+                node = child;
+                break;
+            }
+            int common = commonPrefixLength(child.label, key, depth);
+            if (common < child.label.length()) {
+                // Split the edge where the new key diverges
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                node.children.put(middle.label.charAt(0), middle);
+                addChild(middle, child);
+                child = middle;
+            }
+            node = child;
+            depth += common;
+        }
+        if (node.userIds == null) {
+            node.userIds = new HashSet<>();
+        }
+        node.userIds.add(userId);
+    }
+
+    private void delete(String key, String userId) {
+        Node parent = null;
+        Node node = root;
+        int depth = 0;
+        while (depth < key.length()) {
+            Node child = node.children == null ? null : node.children.get(key.charAt(depth));
+            if (child == null || !key.startsWith(child.label, depth)) {
+                return;
+            }
+            parent = node;
+            node = child;
+            depth += child.label.length();
+        }
+        if (node.userIds == null || !node.userIds.remove(userId) || !node.userIds.isEmpty()) {
+            return;
+        }
+        node.userIds = null;
+        if (parent == null) {
+            return;
+        }
+        if (node.children == null) {
+            parent.children.remove(node.label.charAt(0));
+            if (parent.children.isEmpty()) {
+                parent.children = null;
+            }
+            compact(parent);
+        } else {
+            compact(node);
+        }
+    }
+
+    // Merges a node without users into its only child to keep the trie compressed
+    private void compact(Node node) {
+        if (node == root || node.userIds != null || node.children == null || node.children.size() != 1) {
+            return;
+        }
+        Node child = node.children.values().iterator().next();
+        node.label = node.label + child.label;
+        node.children = child.children;
+        node.userIds = child.userIds;
+    }
+
+    private static void addChild(Node parent, Node child) {
+        if (parent.children == null) {
+            parent.children = new HashMap<>();
+        }
+        parent.children.put(child.label.charAt(0), child);
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Set<String> keys(Entry entry) {
+        Set<String> keys = new HashSet<>();
+        String username = normalize(entry.username());
+        if (!username.isEmpty()) {
+            keys.add(username);
+        }
+        String fullName = normalize(entry.fullName());
+        if (!fullName.isEmpty()) {
+            keys.add(fullName);
+            for (String word : fullName.split(" ")) {
+                keys.add(word);
+            }
+        }
+        return keys;
+    }
+
+    private static Set<String> grams(Entry entry) {
+        Set<String> grams = SearchIndex.trigrams(entry.username());
+        grams.addAll(SearchIndex.trigrams(entry.fullName()));
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Counts the index's structures and estimates the heap they use.
+     */
+    public Footprint footprint() {
+        lock.readLock().lock();
+        try {
+            int nodes = 0;
+            long chars = 0;
+            long trieRefs = 0;
+            List<Node> stack = new ArrayList<>(List.of(root));
+            while (!stack.isEmpty()) {
+                Node node = stack.remove(stack.size() - 1);
+                nodes++;
+                chars += node.label.length();
+                if (node.userIds != null) {
+                    trieRefs += node.userIds.size();
+                }
+                if (node.children != null) {
+                    stack.addAll(node.children.values());
+                }
+            }
+
+            long postingRefs = 0;
+            for (Set<String> posting : postings.values()) {
+                postingRefs += posting.size();
+            }
+
+            long entryChars = 0;
+            for (Entry entry : entries.values()) {
+                entryChars += length(entry.supabaseUserId()) + length(entry.username()) + length(entry.email())
+                        + length(entry.fullName());
+            }
+
+            long bytes = (long) nodes * (OBJECT_BYTES + STRING_BYTES + MAP_ENTRY_BYTES) + chars
+                    + trieRefs * MAP_ENTRY_BYTES
+                    + (long) postings.size() * (STRING_BYTES + OBJECT_BYTES + MAP_ENTRY_BYTES)
+                    + postingRefs * MAP_ENTRY_BYTES
+                    + (long) entries.size() * (OBJECT_BYTES + 4 * STRING_BYTES + MAP_ENTRY_BYTES) + entryChars;
+            return new Footprint(entries.size(), nodes, chars, postings.size(), trieRefs + postingRefs, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+}
@@ -1,23 +1,24 @@
 package rebootedmvp.service;
 
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
 
 import rebootedmvp.User;
-import rebootedmvp.UserMapper;
-import rebootedmvp.repository.UserProfileRepository;
 
 /**
  * Service responsible for synchronizing Supabase users with the backend user
  * system.
  * Only syncs existing users - does not auto-create new users.
+ * Runs on every authenticated request, so lookups go through
+ * UserPrincipalCache (which remembers both known and not-yet-signed-up users)
+ * and the JWT claims are only logged for a sampled fraction of calls.
  */
  @Service
 public class UserSyncService {
@@ -25,7 +26,10 @@ public class UserSyncService {
     private static final Logger logger = LoggerFactory.getLogger(UserSyncService.class);
 
     @Autowired
-    private UserProfileRepository userProfileRepository;
+    private UserPrincipalCache userPrincipalCache;
+
+    @Value("${user-sync.claims-log-sample-rate:0.0}")
+    private double claimsLogSampleRate;
 
     /**
      * Synchronizes a Supabase user with the backend user system.
@@ -35,30 +39,22 @@ public class UserSyncService {
      * @param jwt The already-validated Supabase JWT containing user information
      * @return The existing UserProfileImpl, or null if user doesn't exist in backend
      */
-    @Transactional(isolation = Isolation.READ_COMMITTED)
     public User syncSupabaseUser(Jwt jwt) {
         try {
             // JWT is already validated by Spring Security's OAuth2 Resource Server
-            logger.debug("Processing already-validated JWT token for user sync...");
-
             if (jwt == null) {
                 logger.error("Null JWT provided - cannot sync user");
                 throw new SecurityException("Null JWT token");
             }
 
-            // DEBUG: Print JWT claims to see what Supabase actually provides
-            logger.info("=== JWT CLAIMS DEBUG ===");
-            logger.info("Subject: {}", jwt.getSubject());
-            logger.info("Email: {}", jwt.getClaimAsString("email"));
-            logger.info("Role: {}", jwt.getClaimAsString("role"));
-            logger.info("All claims: {}", jwt.getClaims());
-            logger.info("=== END DEBUG ===");
+            if (shouldLogClaims()) {
+                logger.debug("Sampled JWT claims for {}: {}", jwt.getSubject(), jwt.getClaims());
+            }
 
             String supabaseUserId = jwt.getSubject();
 
             // Check if user already exists (no auto-creation)
-            Optional<User> existingUser = userProfileRepository.findBySupabaseUserId(supabaseUserId)
-                    .map(UserMapper::toDomain);
+            Optional<User> existingUser = userPrincipalCache.findBySupabaseUserId(supabaseUserId);
             
             if (existingUser.isPresent()) {
                 logger.debug("Found existing user for Supabase ID: {}", supabaseUserId);
@@ -77,4 +73,9 @@ public class UserSyncService {
         }
     }
 
-}
\ No newline at end of file
+    private boolean shouldLogClaims() {
+        return claimsLogSampleRate > 0 && logger.isDebugEnabled()
+                && ThreadLocalRandom.current().nextDouble() < claimsLogSampleRate;
+    }
+
+}
@@ -12,6 +12,8 @@ import rebootedmvp.testdata.DatabaseTestUtils;
 import rebootedmvp.testdata.JwtTestUtils;
 import rebootedmvp.testdata.TestContentDataBuilder;
 
+import java.time.LocalDateTime;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
@@ -224,4 +226,59 @@ public class ContentControllerTest extends BaseIntegrationTest {
         assertEquals(originalContent.getTitle(), updatedContent.getTitle());
         assertEquals("New body content only", updatedContent.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getContentById_WhenNotFoundWithConditionalHeader_ShouldReturn404() throws Exception {
+        // A wildcard matches any ETag, so a version computed for a missing
+        // item would turn this into a 304
+        mockMvc.perform(get("/api/content/{id}", 99999L)
+                .header("If-None-Match", "*")
+                .with(JwtTestUtils.withMockJwt()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getContentByModuleId_WhenModuleNotFoundWithConditionalHeader_ShouldReturn404() throws Exception {
+        mockMvc.perform(get("/api/content/module/{moduleId}", 99999L)
+                .header("If-None-Match", "*")
+                .with(JwtTestUtils.withMockJwt()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getContentById_WhenModuleDeleted_ShouldReturn404() throws Exception {
+        // Given
+        Long contentId = testDataSet.getContentId();
+        Long moduleId = testDataSet.getModuleId();
+        moduleRepository.markDeleted(moduleId, LocalDateTime.now());
+
+        // When & Then
+        mockMvc.perform(get("/api/content/{id}", contentId)
+                .with(JwtTestUtils.withMockJwt()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/modules/{moduleId}/content/{contentId}", moduleId, contentId)
+                .with(JwtTestUtils.withMockJwt()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/content/module/{moduleId}", moduleId)
+                .with(JwtTestUtils.withMockJwt()))
+                .andExpect(status().isNotFound());
+        assertFalse(databaseTestUtils.contentExists(contentId));
+    }
+
+    @Test
+    public void getContentById_WhenCourseDeleted_ShouldReturn404() throws Exception {
+        // Given
+        Long contentId = testDataSet.getContentId();
+        courseRepository.markDeleted(testDataSet.getModule().getCourseId(), LocalDateTime.now());
+
+        // When & Then
+        mockMvc.perform(get("/api/content/{id}", contentId)
+                .with(JwtTestUtils.withMockJwt()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/content")
+                .with(JwtTestUtils.withMockJwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(contentId.intValue()))));
+        assertFalse(databaseTestUtils.contentExists(contentId));
+    }
+}
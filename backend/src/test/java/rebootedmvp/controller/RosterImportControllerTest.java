@@ -0,0 +1,137 @@
+package rebootedmvp.controller;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import rebootedmvp.Content;
+import rebootedmvp.config.TestSecurityConfig;
+import rebootedmvp.dto.CourseImportDTO;
+import rebootedmvp.dto.CourseImportResultDTO;
+import rebootedmvp.dto.NewContentDTO;
+import rebootedmvp.dto.NewMultipleChoiceQuestionContentDTO;
+import rebootedmvp.dto.NewTextContentDTO;
+import rebootedmvp.dto.NewVideoContentDTO;
+import rebootedmvp.repository.UserProfileRepository;
+import rebootedmvp.service.AuthorizationService;
+import rebootedmvp.service.CourseMembershipService;
+import rebootedmvp.service.CourseService;
+import rebootedmvp.service.RosterService;
+import rebootedmvp.service.UserSyncService;
+import rebootedmvp.testdata.JwtTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.*;
+
+@WebMvcTest(RosterController.class)
+@Import(TestSecurityConfig.class)
+public class RosterImportControllerTest {
+
+    private static final String COURSE_DOCUMENT = """
+            {
+              "title": "Generated Course",
+              "body": "Made by the course generator",
+              "modules": [
+                {
+                  "title": "Module 1",
+                  "body": "First module",
+                  "contents": [
+                    { "type": "Text", "title": "Intro", "body": "Welcome" },
+                    { "type": "MultipleChoiceQuestion", "title": "Quiz", "body": "Pick one",
+                      "options": ["A", "B"], "correctAnswer": "A" }
+                  ]
+                },
+                {
+                  "title": "Module 2",
+                  "contents": [
+                    { "type": "Video", "title": "Lecture", "videoUrl": "https://example.com/v" }
+                  ]
+                }
+              ]
+            }
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RosterService rosterService;
+
+    @MockBean
+    private CourseService courseService;
+
+    @MockBean
+    private CourseMembershipService courseMembershipService;
+
+    @MockBean
+    private UserProfileRepository userProfileRepository;
+
+    @MockBean
+    private AuthorizationService authorizationService;
+
+    @MockBean
+    private UserSyncService userSyncService;
+
+    @Test
+    public void importCourse_WhenValidDocument_ShouldReturnIdMap() throws Exception {
+        when(rosterService.importCourse(any(CourseImportDTO.class)))
+                .thenReturn(new CourseImportResultDTO(7L, List.of(70L, 71L), List.of(List.of(700L, 701L), List.of(710L))));
+
+        mockMvc.perform(post("/api/roster/import")
+                .with(JwtTestUtils.withMockJwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(COURSE_DOCUMENT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseId", is(7)))
+                .andExpect(jsonPath("$.moduleIds", contains(70, 71)))
+                .andExpect(jsonPath("$.contentIds[0]", contains(700, 701)))
+                .andExpect(jsonPath("$.contentIds[1]", contains(710)));
+    }
+
+    @Test
+    public void importCourse_WhenContentIsTyped_ShouldReadEachItemAsItsType() throws Exception {
+        when(rosterService.importCourse(any(CourseImportDTO.class)))
+                .thenReturn(new CourseImportResultDTO(7L, List.of(), List.of()));
+
+        mockMvc.perform(post("/api/roster/import")
+                .with(JwtTestUtils.withMockJwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(COURSE_DOCUMENT))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<CourseImportDTO> captor = ArgumentCaptor.forClass(CourseImportDTO.class);
+        verify(rosterService).importCourse(captor.capture());
+        List<NewContentDTO> first = captor.getValue().getModules().get(0).getContents();
+        assertInstanceOf(NewTextContentDTO.class, first.get(0));
+        NewMultipleChoiceQuestionContentDTO question = assertInstanceOf(NewMultipleChoiceQuestionContentDTO.class,
+                first.get(1));
+        assertEquals(List.of("A", "B"), question.getOptions());
+        assertEquals(Content.ContentType.MultipleChoiceQuestion, question.getType());
+        NewVideoContentDTO video = assertInstanceOf(NewVideoContentDTO.class,
+                captor.getValue().getModules().get(1).getContents().get(0));
+        assertEquals("https://example.com/v", video.getVideoUrl());
+    }
+
+    @Test
+    public void importCourse_WhenDocumentInvalid_ShouldReturnBadRequest() throws Exception {
+        when(rosterService.importCourse(any(CourseImportDTO.class)))
+                .thenThrow(new IllegalArgumentException("Module 0, content 1: Question must have a correct answer"));
+
+        mockMvc.perform(post("/api/roster/import")
+                .with(JwtTestUtils.withMockJwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(COURSE_DOCUMENT))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -15,11 +15,14 @@ import rebootedmvp.dto.ContentDTO;
 import rebootedmvp.dto.NewTextContentDTO;
 import rebootedmvp.dto.TextContentDTO;
 import rebootedmvp.service.ContentService;
+import rebootedmvp.service.ResourceVersion;
 import rebootedmvp.service.UserSyncService;
 import rebootedmvp.testdata.JwtTestUtils;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -43,11 +46,14 @@ public class SimpleContentControllerTest {
 
     private ContentDTO mockContentDTO;
     private NewTextContentDTO updateDTO;
+    private ResourceVersion contentVersion;
 
     @BeforeEach
     void setUp() {
         mockContentDTO = new TextContentDTO(1L, "Test Title", "Test Body", false, 1L);
         updateDTO = new NewTextContentDTO("Updated Title", "Updated Body", 1L);
+        contentVersion = ResourceVersion.of("content");
+        when(contentService.getVersion(any())).thenReturn(contentVersion);
     }
 
     @Test
@@ -136,6 +142,22 @@ public class SimpleContentControllerTest {
                 .andExpect(jsonPath("$.complete", is(false)));
     }
 
+    @Test
+    public void getContentById_WhenETagMatches_ShouldReturn304() throws Exception {
+        // Given
+        Long contentId = 1L;
+        when(contentService.findById(contentId)).thenReturn(mockContentDTO);
+
+        // When & Then
+        mockMvc.perform(get("/api/content/{id}", contentId)
+                .header("If-None-Match", contentVersion.getETag())
+                .with(JwtTestUtils.withMockJwt()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", contentVersion.getETag()))
+                .andExpect(content().string(""));
+        verify(contentService, never()).findById(contentId);
+    }
+
     @Test
     public void getContentById_WhenNotFound_ShouldReturn404() throws Exception {
         // Given
@@ -0,0 +1,164 @@
+package rebootedmvp.domain.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserProgressTest {
+
+    private UserProgress progress;
+
+    @BeforeEach
+    void setUp() {
+        progress = new UserProgress(new UserProgressId("user-1", 1L), new int[] { 3, 0, 10 });
+    }
+
+    @Test
+    public void constructor_WhenNew_ShouldHaveNothingCompleted() {
+        assertEquals(3, progress.getModuleCount());
+        assertEquals(List.of(false, false, false), progress.getCompleted(0));
+        assertEquals(List.of(), progress.getCompleted(1));
+        assertEquals(10, progress.getCompleted(2).size());
+        assertFalse(progress.getCompleted(2).contains(true));
+        assertEquals(2, progress.getCompletedBits().length);
+    }
+
+    @Test
+    public void setCompleted_WhenSet_ShouldOnlyChangeThatItem() {
+        progress.setCompleted(2, 4, true);
+
+        assertTrue(progress.isCompleted(2, 4));
+        assertFalse(progress.isCompleted(2, 3));
+        assertFalse(progress.isCompleted(2, 5));
+        assertEquals(List.of(false, false, false), progress.getCompleted(0));
+    }
+
+    @Test
+    public void setCompleted_WhenCleared_ShouldUnset() {
+        progress.setCompleted(0, 1, true);
+        progress.setCompleted(0, 1, false);
+
+        assertFalse(progress.isCompleted(0, 1));
+    }
+
+    @Test
+    public void setCompleted_WhenItemOutOfRange_ShouldThrow() {
+        assertThrows(IndexOutOfBoundsException.class, () -> progress.setCompleted(0, 3, true));
+        assertThrows(IndexOutOfBoundsException.class, () -> progress.setCompleted(1, 0, true));
+        assertThrows(IndexOutOfBoundsException.class, () -> progress.setCompleted(3, 0, true));
+    }
+
+    @Test
+    public void setCompleted_ShouldReplaceBitmap() {
+        byte[] before = progress.getCompletedBits();
+        progress.setCompleted(0, 0, true);
+
+        assertEquals(0, before[0]);
+        assertEquals(1, progress.getCompletedBits()[0]);
+    }
+
+    @Test
+    public void removeModule_WhenMiddleOrFirst_ShouldShiftLaterModules() {
+        progress.setModuleScore(0, 0.5);
+        progress.setModuleScore(2, 0.9);
+        progress.setCompleted(0, 2, true);
+        progress.setCompleted(2, 0, true);
+        progress.setCompleted(2, 9, true);
+
+        progress.removeModule(0);
+
+        assertEquals(2, progress.getModuleCount());
+        assertEquals(0.9, progress.getModuleScore(1));
+        assertTrue(progress.isCompleted(1, 0));
+        assertTrue(progress.isCompleted(1, 9));
+        assertEquals(8, progress.getCompleted(1).stream().filter(done -> !done).count());
+        assertEquals(2, progress.getCompletedBits().length);
+    }
+
+    @Test
+    public void removeModule_WhenLast_ShouldKeepEarlierModules() {
+        progress.setCompleted(0, 1, true);
+        progress.setCompleted(2, 5, true);
+
+        progress.removeModule(2);
+
+        assertArrayEquals(new int[] { 3, 0 }, progress.getModuleSizes());
+        assertEquals(List.of(false, true, false), progress.getCompleted(0));
+        assertEquals(1, progress.getCompletedBits().length);
+    }
+
+    @Test
+    public void insertModule_WhenMiddle_ShouldShiftLaterModules() {
+        progress.setModuleScore(2, 0.9);
+        progress.setCompleted(0, 2, true);
+        progress.setCompleted(2, 9, true);
+
+        progress.insertModule(1);
+
+        assertArrayEquals(new int[] { 3, 0, 0, 10 }, progress.getModuleSizes());
+        assertEquals(0.0, progress.getModuleScore(1));
+        assertEquals(0.9, progress.getModuleScore(3));
+        assertTrue(progress.isCompleted(0, 2));
+        assertTrue(progress.isCompleted(3, 9));
+    }
+
+    @Test
+    public void insertModule_WhenPastEnd_ShouldThrow() {
+        assertThrows(IndexOutOfBoundsException.class, () -> progress.insertModule(4));
+    }
+
+    @Test
+    public void insertItem_ShouldShiftLaterItemsAndModules() {
+        progress.setCompleted(0, 0, true);
+        progress.setCompleted(0, 1, true);
+        progress.setCompleted(2, 0, true);
+
+        progress.insertItem(0, 1);
+
+        assertArrayEquals(new int[] { 4, 0, 10 }, progress.getModuleSizes());
+        assertEquals(List.of(true, false, true, false), progress.getCompleted(0));
+        assertTrue(progress.isCompleted(2, 0));
+        assertEquals(1, progress.getCompleted(2).stream().filter(done -> done).count());
+    }
+
+    @Test
+    public void insertItem_WhenModuleEmpty_ShouldMakeItemSettable() {
+        progress.insertItem(1, 0);
+        progress.setCompleted(1, 0, true);
+
+        assertEquals(List.of(true), progress.getCompleted(1));
+        assertEquals(List.of(false, false, false), progress.getCompleted(0));
+        assertFalse(progress.getCompleted(2).contains(true));
+    }
+
+    @Test
+    public void insertItem_WhenOutOfRange_ShouldThrow() {
+        assertThrows(IndexOutOfBoundsException.class, () -> progress.insertItem(0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> progress.insertItem(3, 0));
+    }
+
+    @Test
+    public void removeItem_ShouldShiftLaterItemsAndModules() {
+        progress.setCompleted(0, 2, true);
+        progress.setCompleted(2, 3, true);
+
+        progress.removeItem(0, 1);
+
+        assertArrayEquals(new int[] { 2, 0, 10 }, progress.getModuleSizes());
+        assertEquals(List.of(false, true), progress.getCompleted(0));
+        assertTrue(progress.isCompleted(2, 3));
+        assertEquals(2, progress.getCompletedBits().length);
+        assertThrows(IndexOutOfBoundsException.class, () -> progress.removeItem(1, 0));
+    }
+
+    @Test
+    public void getters_WhenColumnsNull_ShouldReadAsEmpty() {
+        UserProgress legacy = new UserProgress();
+
+        assertEquals(0, legacy.getModuleCount());
+        assertEquals(0, legacy.getCompletedBits().length);
+    }
+}
@@ -0,0 +1,126 @@
+package rebootedmvp.security;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises SupabaseJwksCache against a JWKS file standing in for the
+ * Supabase endpoint.
+ */
+public class SupabaseJwksCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path jwksFile;
+    private SimpleMeterRegistry meterRegistry;
+    private SupabaseJwksCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jwksFile = tempDir.resolve("jwks.json");
+        writeKeys(generateKey("key-1"));
+
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SupabaseJwksCache(jwksFile.toUri().toURL(), Duration.ofHours(1), Duration.ofMinutes(1),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    public void start_ShouldPrefetchKeys() throws Exception {
+        cache.start();
+        Files.delete(jwksFile);
+
+        assertEquals(1, cache.get(selectorFor("key-1"), null).size());
+        assertEquals(1.0, meterRegistry.get("supabase.jwks.lookups").tag("result", "hit").counter().count());
+        assertEquals(1, refreshCount("success"));
+    }
+
+    @Test
+    public void refresh_WhenEndpointUnavailable_ShouldKeepStaleKeys() throws Exception {
+        cache.start();
+        Files.delete(jwksFile);
+
+        assertFalse(cache.refresh());
+        assertEquals(1, cache.get(selectorFor("key-1"), null).size());
+        assertEquals(1, refreshCount("failure"));
+    }
+
+    @Test
+    public void get_WhenKidUnknown_ShouldRefetchOnce() throws Exception {
+        cache.start();
+        writeKeys(generateKey("key-1"), generateKey("key-2"));
+
+        assertEquals(1, cache.get(selectorFor("key-2"), null).size());
+        assertEquals(2, refreshCount("success"));
+
+        // A second unknown kid inside the cooldown is answered from the cache
+        assertTrue(cache.get(selectorFor("forged"), null).isEmpty());
+        assertEquals(2, refreshCount("success"));
+        assertEquals(2.0, meterRegistry.get("supabase.jwks.lookups").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void get_WhenNeverFetched_ShouldThrow() throws Exception {
+        Files.delete(jwksFile);
+        cache.start();
+
+        assertThrows(KeySourceException.class, () -> cache.get(selectorFor("key-1"), null));
+    }
+
+    @Test
+    public void get_WhenNeverFetchedWithinCooldown_ShouldFailWithoutFetching() throws Exception {
+        Files.delete(jwksFile);
+        cache.start();
+        assertThrows(KeySourceException.class, () -> cache.get(selectorFor("key-1"), null));
+        assertEquals(2, refreshCount("failure"));
+
+        // The endpoint is back, but the next request is inside the cooldown
+        writeKeys(generateKey("key-1"));
+        assertThrows(KeySourceException.class, () -> cache.get(selectorFor("key-1"), null));
+        assertEquals(2, refreshCount("failure"));
+        assertEquals(0, refreshCount("success"));
+    }
+
+    private ECKey generateKey(String kid) throws Exception {
+        return new ECKeyGenerator(Curve.P_256).keyID(kid).generate();
+    }
+
+    private void writeKeys(ECKey... keys) throws Exception {
+        JWKSet jwkSet = new JWKSet(List.<JWK>of(keys));
+        Files.writeString(jwksFile, jwkSet.toPublicJWKSet().toString());
+    }
+
+    private JWKSelector selectorFor(String kid) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(kid).build());
+    }
+
+    private long refreshCount(String outcome) {
+        Timer timer = meterRegistry.get("supabase.jwks.refresh").tag("outcome", outcome).timer();
+        return timer.count();
+    }
+}
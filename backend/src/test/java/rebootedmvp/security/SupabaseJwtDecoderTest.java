@@ -0,0 +1,68 @@
+package rebootedmvp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import rebootedmvp.config.SupabaseConfig;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies HS256 tokens signed the way Supabase Auth signs them: HMAC-SHA256
+ * over the raw bytes of the project secret.
+ */
+public class SupabaseJwtDecoderTest {
+
+    // The usual 88-character project secret, which is also valid base64
+    private static final String BASE64_LOOKING_SECRET =
+            "c3VwZXItc2VjcmV0LWp3dC10b2tlbi13aXRoLWF0LWxlYXN0LTMyLWNoYXJhY3RlcnMtbG9uZy0xMjM0NTY3OA==";
+
+    private SupabaseJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        SupabaseConfig config = new SupabaseConfig();
+        config.setJwtSecret(BASE64_LOOKING_SECRET);
+        decoder = new SupabaseJwtDecoder(config, token -> {
+            throw new JwtException("No asymmetric keys in this test");
+        }, new VerifiedTokenCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry()));
+    }
+
+    @Test
+    public void decode_WhenSecretLooksLikeBase64_ShouldVerifyWithRawSecretBytes() throws Exception {
+        assertEquals(88, BASE64_LOOKING_SECRET.length());
+        String token = sign(BASE64_LOOKING_SECRET.getBytes(StandardCharsets.UTF_8));
+
+        Jwt jwt = decoder.decode(token);
+
+        assertEquals("user-1", jwt.getSubject());
+    }
+
+    @Test
+    public void decode_WhenSignedWithBase64DecodedSecret_ShouldReject() throws Exception {
+        String token = sign(Base64.getDecoder().decode(BASE64_LOOKING_SECRET));
+
+        assertThrows(JwtException.class, () -> decoder.decode(token));
+    }
+
+    private static String sign(byte[] key) throws Exception {
+        long now = Instant.now().getEpochSecond();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"sub\":\"user-1\",\"aud\":\"authenticated\",\"iat\":" + now
+                + ",\"exp\":" + (now + 3600) + "}").getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        byte[] signature = mac.doFinal((header + "." + payload).getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + "." + encoder.encodeToString(signature);
+    }
+}
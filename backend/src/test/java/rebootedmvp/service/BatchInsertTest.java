@@ -0,0 +1,105 @@
+package rebootedmvp.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import rebootedmvp.config.TestSecurityConfig;
+import rebootedmvp.domain.impl.CourseEntityImpl;
+import rebootedmvp.domain.impl.ModuleEntityImpl;
+import rebootedmvp.domain.impl.TextContentImpl;
+import rebootedmvp.repository.ContentRepository;
+import rebootedmvp.testdata.DatabaseTestUtils;
+import rebootedmvp.testdata.TestContentDataBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+public class BatchInsertTest {
+
+    private static final int ROWS = 200;
+
+    // Four batches of 50, a handful of sequence calls and the reads around them
+    private static final long MAX_STATEMENTS = 15;
+
+    @Autowired
+    private DatabaseTestUtils databaseTestUtils;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private UserProgressService userProgressService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long courseId;
+    private Long moduleId;
+
+    @BeforeEach
+    void setUp() {
+        CourseEntityImpl course = databaseTestUtils.createTestCourse("Batch Course", "Batch insert test");
+        courseId = course.getId();
+        ModuleEntityImpl module = databaseTestUtils.saveModule("Batch Module", "Batch insert test", courseId);
+        moduleId = module.getId();
+        entityManager.flush();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void saveAll_WhenManyContentItems_ShouldInsertInBatches() {
+        contentRepository.saveAll(textContent(ROWS));
+        entityManager.flush();
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS,
+                "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    public void createUserProgress_WhenModuleHasManyItems_ShouldInsertOneRow() {
+        contentRepository.saveAll(textContent(ROWS));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        userProgressService.createUserProgress("batch-test-student", courseId);
+        entityManager.flush();
+
+        // Completion flags are a bitmap on the progress row itself
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(ROWS, userProgressService.getUserProgress("batch-test-student", courseId)
+                .getProgress().get(0).getValue1().size());
+    }
+
+    private List<TextContentImpl> textContent(int count) {
+        List<TextContentImpl> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(TestContentDataBuilder.textContent()
+                    .withTitle("Item " + i)
+                    .withBody("Body " + i)
+                    .withModuleId(moduleId)
+                    .buildEntity());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,148 @@
+package rebootedmvp.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import rebootedmvp.config.TestSecurityConfig;
+import rebootedmvp.domain.impl.UserProgress;
+import rebootedmvp.domain.impl.UserProgressId;
+import rebootedmvp.repository.UserProgressRepository;
+import rebootedmvp.testdata.DatabaseTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tombstones and purges courses and modules that have students and progress,
+ * driving the purge chunks directly rather than through the background
+ * worker, which can't see this test's transaction.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+public class CourseCascadeDeleterTest {
+
+    // Small enough that every table takes several chunks
+    private static final int CHUNK = 2;
+
+    @Autowired
+    private CourseCascadeDeleter cascadeDeleter;
+
+    @Autowired
+    private CourseEnrollmentWriter enrollmentWriter;
+
+    @Autowired
+    private DatabaseTestUtils databaseTestUtils;
+
+    @Autowired
+    private UserProgressRepository userProgressRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long courseId;
+    private List<Long> moduleIds;
+
+    @BeforeEach
+    void setUp() {
+        courseId = databaseTestUtils.createTestCourse("Cascade Course", "Cascade delete test").getId();
+        moduleIds = List.of(
+                moduleWithItems("First", 2),
+                moduleWithItems("Middle", 5),
+                moduleWithItems("Last", 1));
+        databaseTestUtils.createTestTeacher("cascade-teacher", "cascade-teacher@example.com");
+        databaseTestUtils.associateTeacherWithCourse("cascade-teacher", courseId);
+        for (String id : List.of("cascade-student-1", "cascade-student-2", "cascade-student-3")) {
+            databaseTestUtils.createTestStudent(id, id + "@example.com");
+        }
+        entityManager.flush();
+        enrollmentWriter.addStudents(courseId,
+                List.of("cascade-student-1", "cascade-student-2", "cascade-student-3"));
+        entityManager.clear();
+
+        UserProgress progress = progress("cascade-student-1");
+        progress.setCompleted(0, 1, true);
+        progress.setCompleted(1, 4, true);
+        progress.setCompleted(2, 0, true);
+        progress.setModuleScore(2, 0.75);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void deleteModule_WhenStudentsHaveProgress_ShouldRemoveOnlyItsSlot() {
+        Long middle = moduleIds.get(1);
+
+        cascadeDeleter.markModuleDeleted(courseId, middle);
+        while (cascadeDeleter.deleteModuleChunk(middle, CHUNK) > 0) {
+        }
+        entityManager.clear();
+
+        assertEquals(0, count("SELECT count(*) FROM content WHERE module_id = ?", middle));
+        assertEquals(0, count("SELECT count(*) FROM module_entity_impl WHERE id = ?", middle));
+        assertEquals(0, count("SELECT count(*) FROM modules WHERE id = ?", middle));
+        assertEquals(3, count("SELECT count(*) FROM content WHERE module_id IN (?, ?)", moduleIds.get(0),
+                moduleIds.get(2)));
+
+        List<UserProgress> rows = userProgressRepository.findByIdCourseId(courseId);
+        assertEquals(3, rows.size());
+        for (UserProgress row : rows) {
+            assertArrayEquals(new int[] { 2, 1 }, row.getModuleSizes());
+        }
+        UserProgress progress = progress("cascade-student-1");
+        assertEquals(List.of(false, true), progress.getCompleted(0));
+        assertEquals(List.of(true), progress.getCompleted(1));
+        assertEquals(0.75, progress.getModuleScore(1));
+        assertFalse(progress("cascade-student-2").getCompleted(1).contains(true));
+    }
+
+    @Test
+    public void deleteCourse_WhenStudentsHaveProgress_ShouldLeaveNoOrphanedRows() {
+        cascadeDeleter.markCourseDeleted(courseId);
+        while (cascadeDeleter.deleteCourseChunk(courseId, CHUNK) > 0) {
+        }
+        entityManager.clear();
+
+        for (String table : List.of("user_course_progress", "course_teachers", "course_students",
+                "teacher_courses", "student_courses", "modules")) {
+            assertEquals(0, count("SELECT count(*) FROM " + table + " WHERE course_id = ?", courseId), table);
+        }
+        for (Long moduleId : moduleIds) {
+            assertEquals(0, count("SELECT count(*) FROM content WHERE module_id = ?", moduleId));
+            assertEquals(0, count("SELECT count(*) FROM module_entity_impl WHERE id = ?", moduleId));
+        }
+        assertEquals(0, count("SELECT count(*) FROM course_entity_impl WHERE id = ?", courseId));
+        assertEquals(0, count("SELECT count(*) FROM courses WHERE id = ?", courseId));
+
+        // Only the memberships go; the users themselves stay
+        assertTrue(databaseTestUtils.userExists("cascade-student-1"));
+        assertTrue(databaseTestUtils.userExists("cascade-teacher"));
+    }
+
+    private Long moduleWithItems(String title, int items) {
+        Long moduleId = databaseTestUtils.saveModule(title, "Cascade delete test", courseId).getId();
+        for (int i = 0; i < items; i++) {
+            databaseTestUtils.saveTextContent(title + " " + i, "Body", moduleId);
+        }
+        return moduleId;
+    }
+
+    private UserProgress progress(String supabaseUserId) {
+        return userProgressRepository.findById(new UserProgressId(supabaseUserId, courseId)).orElseThrow();
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,138 @@
+package rebootedmvp.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import rebootedmvp.config.TestSecurityConfig;
+import rebootedmvp.domain.impl.UserProgress;
+import rebootedmvp.domain.impl.UserProgressId;
+import rebootedmvp.repository.ModuleRepository;
+import rebootedmvp.repository.UserProgressRepository;
+import rebootedmvp.testdata.DatabaseTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+public class CourseEnrollmentWriterTest {
+
+    @Autowired
+    private CourseEnrollmentWriter enrollmentWriter;
+
+    @Autowired
+    private DatabaseTestUtils databaseTestUtils;
+
+    @Autowired
+    private UserProgressService userProgressService;
+
+    @Autowired
+    private UserProgressRepository userProgressRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        courseId = databaseTestUtils.createTestCourse("Enroll Course", "Enrollment writer test").getId();
+        Long first = databaseTestUtils.saveModule("First", "Three items", courseId).getId();
+        databaseTestUtils.saveModule("Empty", "No items", courseId);
+        Long last = databaseTestUtils.saveModule("Last", "Nine items", courseId).getId();
+        for (int i = 0; i < 3; i++) {
+            databaseTestUtils.saveTextContent("First " + i, "Body", first);
+        }
+        for (int i = 0; i < 9; i++) {
+            databaseTestUtils.saveTextContent("Last " + i, "Body", last);
+        }
+        Long deleted = databaseTestUtils.saveModule("Deleted", "Tombstoned", courseId).getId();
+        databaseTestUtils.saveTextContent("Deleted 0", "Body", deleted);
+        moduleRepository.markDeleted(deleted, LocalDateTime.now());
+
+        for (String id : List.of("student-1", "student-2", "student-3")) {
+            databaseTestUtils.createTestStudent(id, id + "@example.com");
+        }
+        databaseTestUtils.createTestTeacher("teacher-1", "teacher-1@example.com");
+        entityManager.flush();
+    }
+
+    @Test
+    public void addStudents_ShouldReturnOnlyUsersNotAlreadyEnrolled() {
+        assertEquals(List.of("student-1"), enrollmentWriter.addStudents(courseId, List.of("student-1")));
+
+        List<String> added = enrollmentWriter.addStudents(courseId, List.of("student-1", "student-2", "student-3"));
+
+        assertEquals(List.of("student-2", "student-3"), added.stream().sorted().toList());
+        assertEquals(3, countRows("course_students"));
+        assertEquals(3, countRows("user_course_progress"));
+        assertTrue(enrollmentWriter.addStudents(courseId, List.of("student-2")).isEmpty());
+    }
+
+    @Test
+    public void addStudents_WhenAlreadyEnrolled_ShouldKeepExistingProgress() {
+        enrollmentWriter.addStudents(courseId, List.of("student-1"));
+        entityManager.clear();
+        UserProgress progress = userProgressRepository.findById(new UserProgressId("student-1", courseId))
+                .orElseThrow();
+        progress.setCompleted(0, 1, true);
+        entityManager.flush();
+        entityManager.clear();
+
+        enrollmentWriter.addStudents(courseId, List.of("student-1", "student-2"));
+        entityManager.clear();
+
+        assertTrue(userProgressRepository.findById(new UserProgressId("student-1", courseId)).orElseThrow()
+                .isCompleted(0, 1));
+    }
+
+    @Test
+    public void addStudents_ShouldBuildProgressLikeCreateUserProgress() {
+        enrollmentWriter.addStudents(courseId, List.of("student-1"));
+        userProgressService.createUserProgress("student-2", courseId);
+        entityManager.flush();
+        entityManager.clear();
+
+        UserProgress fromSql = userProgressRepository.findById(new UserProgressId("student-1", courseId))
+                .orElseThrow();
+        UserProgress fromJpa = userProgressRepository.findById(new UserProgressId("student-2", courseId))
+                .orElseThrow();
+
+        // The tombstoned module gets no slot
+        assertArrayEquals(new int[] { 3, 0, 9 }, fromSql.getModuleSizes());
+        assertArrayEquals(fromJpa.getModuleSizes(), fromSql.getModuleSizes());
+        assertArrayEquals(fromJpa.getModuleScores(), fromSql.getModuleScores());
+        assertArrayEquals(fromJpa.getCompletedBits(), fromSql.getCompletedBits());
+        assertEquals(0.0, fromSql.getTotalProgress());
+    }
+
+    @Test
+    public void addTeachers_ShouldReturnOnlyNewTeachersAndCreateNoProgress() {
+        assertEquals(List.of("teacher-1"), enrollmentWriter.addTeachers(courseId, List.of("teacher-1")));
+        assertTrue(enrollmentWriter.addTeachers(courseId, List.of("teacher-1")).isEmpty());
+
+        assertEquals(1, countRows("course_teachers"));
+        assertEquals(0, countRows("user_course_progress"));
+    }
+
+    private long countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE course_id = ?", Long.class,
+                courseId);
+    }
+}
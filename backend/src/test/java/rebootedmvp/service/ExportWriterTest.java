@@ -0,0 +1,67 @@
+package rebootedmvp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void write_WhenCsv_ShouldWriteHeaderAndQuoteFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter<Map<String, Object>> writer = new ExportWriter<>(out, ExportFormat.CSV, objectMapper, columns());
+
+        writer.write(Map.of("id", 1, "title", "Hello, \"world\""));
+        writer.flush();
+
+        assertEquals("id,title\r\n1,\"Hello, \"\"world\"\"\"\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void write_WhenNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter<Map<String, Object>> writer = new ExportWriter<>(out, ExportFormat.NDJSON, objectMapper,
+                columns());
+
+        writer.write(Map.of("id", 1));
+        writer.write(Map.of("id", 2));
+        writer.flush();
+
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void csvField_WhenFormulaOrNull_ShouldNeutralize() {
+        assertEquals("'=SUM(A1)", ExportWriter.csvField("=SUM(A1)"));
+        assertEquals("-1", ExportWriter.csvField(-1));
+        assertEquals("", ExportWriter.csvField(null));
+    }
+
+    @Test
+    public void csvField_WhenLeadingTabOrCarriageReturn_ShouldNeutralize() {
+        assertEquals("'\tcmd", ExportWriter.csvField("\tcmd"));
+        assertEquals("\"'\r=1+1\"", ExportWriter.csvField("\r=1+1"));
+    }
+
+    @Test
+    public void fromParameter_WhenUnknown_ShouldThrow() {
+        assertEquals(ExportFormat.CSV, ExportFormat.fromParameter("CSV"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromParameter("xml"));
+    }
+
+    private Map<String, Function<Map<String, Object>, Object>> columns() {
+        Map<String, Function<Map<String, Object>, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", row -> row.get("id"));
+        columns.put("title", row -> row.get("title"));
+        return columns;
+    }
+}
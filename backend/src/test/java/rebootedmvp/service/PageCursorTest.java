@@ -0,0 +1,56 @@
+package rebootedmvp.service;
+
+import org.junit.jupiter.api.Test;
+import rebootedmvp.dto.CursorPage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTest {
+
+    @Test
+    public void page_WhenMoreRowsThanPageSize_ShouldTrimAndSetCursor() {
+        CursorPage<String> page = PageCursor.page(List.of(1L, 2L, 3L), 2, String::valueOf,
+                id -> PageCursor.encode(id));
+
+        assertEquals(List.of("1", "2"), page.getItems());
+        assertTrue(page.hasNext());
+        assertEquals(2L, PageCursor.decodeLong(page.getNextCursor()));
+    }
+
+    @Test
+    public void page_WhenLastPage_ShouldHaveNoCursor() {
+        CursorPage<String> page = PageCursor.page(List.of(1L, 2L), 2, String::valueOf,
+                id -> PageCursor.encode(id));
+
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    public void decode_WhenNoCursor_ShouldStartAtBeginning() {
+        assertEquals(0L, PageCursor.decodeLong(null));
+        assertEquals("", PageCursor.decodeString(""));
+    }
+
+    @Test
+    public void decodeParts_ShouldRoundTripCompositeKeys() {
+        String cursor = PageCursor.encode(42L, "user:with:colons");
+
+        assertArrayEquals(new String[] { "42", "user:with:colons" }, PageCursor.decodeParts(cursor, 2));
+    }
+
+    @Test
+    public void decode_WhenCursorInvalid_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeLong("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeLong(PageCursor.encode("abc")));
+    }
+
+    @Test
+    public void pageSize_ShouldClampToLimits() {
+        assertEquals(PageCursor.DEFAULT_LIMIT, PageCursor.pageSize(null));
+        assertEquals(1, PageCursor.pageSize(0));
+        assertEquals(PageCursor.MAX_LIMIT, PageCursor.pageSize(100000));
+    }
+}
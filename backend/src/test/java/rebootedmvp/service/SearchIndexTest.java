@@ -0,0 +1,68 @@
+package rebootedmvp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.put(SearchIndex.Kind.COURSE, 1L, 1L, null, "Intro to Biology", "Cells and organisms");
+        index.put(SearchIndex.Kind.MODULE, 10L, 1L, 10L, "Photosynthesis", "How plants make energy");
+        index.put(SearchIndex.Kind.CONTENT, 100L, null, 10L, "Chlorophyll video", "Why leaves are green");
+    }
+
+    @Test
+    public void search_WhenWordPrefix_ShouldMatch() {
+        List<SearchIndex.Hit> hits = index.search("photo");
+
+        assertEquals(1, hits.size());
+        assertEquals(10L, hits.get(0).id());
+    }
+
+    @Test
+    public void search_WhenContentMatches_ShouldResolveCourseThroughModule() {
+        List<SearchIndex.Hit> hits = index.search("chlorophyll");
+
+        assertEquals(SearchIndex.Kind.CONTENT, hits.get(0).kind());
+        assertEquals(1L, hits.get(0).courseId());
+    }
+
+    @Test
+    public void search_WhenTitleAndBodyMatch_ShouldRankTitleFirst() {
+        index.put(SearchIndex.Kind.CONTENT, 101L, null, 10L, "Summary", "Plants and energy");
+        index.put(SearchIndex.Kind.CONTENT, 102L, null, 10L, "Energy", "Summary");
+
+        List<SearchIndex.Hit> hits = index.search("energy");
+
+        assertEquals(102L, hits.get(0).id());
+    }
+
+    @Test
+    public void put_WhenReindexed_ShouldDropOldText() {
+        index.put(SearchIndex.Kind.MODULE, 10L, 1L, 10L, "Respiration", "");
+
+        assertTrue(index.search("photosynthesis").isEmpty());
+        assertEquals(1, index.search("respiration").size());
+    }
+
+    @Test
+    public void remove_ShouldDropDocument() {
+        index.remove(SearchIndex.Kind.CONTENT, 100L);
+
+        assertTrue(index.search("chlorophyll").isEmpty());
+    }
+
+    @Test
+    public void search_WhenUnrelated_ShouldReturnNothing() {
+        assertTrue(index.search("quantum").isEmpty());
+        assertTrue(index.search("   ").isEmpty());
+    }
+}
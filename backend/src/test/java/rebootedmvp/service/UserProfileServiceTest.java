@@ -0,0 +1,117 @@
+package rebootedmvp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rebootedmvp.domain.impl.StudentImpl;
+import rebootedmvp.domain.impl.UserProfileImpl;
+import rebootedmvp.repository.UserProfileRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserProfileServiceTest {
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @InjectMocks
+    private UserProfileService userProfileService;
+
+    // Usernames the repository knows, and the chunks it was asked for
+    private Set<String> known;
+    private List<List<String>> queries;
+
+    @BeforeEach
+    void setUp() {
+        known = Set.of("alice", "bob", "carol");
+        queries = new ArrayList<>();
+    }
+
+    @Test
+    public void resolveUsernames_ShouldKeepInputOrderAndReportMissing() {
+        stubRepository();
+
+        UserProfileService.UsernameResolution resolution = userProfileService
+                .resolveUsernames(List.of("carol", "nobody", "alice"));
+
+        assertEquals(List.of("carol", "alice"), List.copyOf(resolution.found().keySet()));
+        assertEquals("alice", resolution.found().get("alice").getUsername());
+        assertEquals(List.of("nobody"), resolution.missing());
+        assertFalse(resolution.allFound());
+    }
+
+    @Test
+    public void resolveUsernames_WhenDuplicates_ShouldQueryAndReturnEachOnce() {
+        stubRepository();
+
+        UserProfileService.UsernameResolution resolution = userProfileService
+                .resolveUsernames(List.of("bob", "alice", "bob", "ghost", "ghost"));
+
+        assertEquals(List.of(List.of("bob", "alice", "ghost")), queries);
+        assertEquals(List.of("bob", "alice"), List.copyOf(resolution.found().keySet()));
+        assertEquals(List.of("ghost"), resolution.missing());
+    }
+
+    @Test
+    public void resolveUsernames_WhenBlankOrNull_ShouldReportMissingWithoutQuerying() {
+        UserProfileService.UsernameResolution resolution = userProfileService
+                .resolveUsernames(Arrays.asList("", null, "   "));
+
+        assertTrue(resolution.found().isEmpty());
+        assertEquals(Arrays.asList("", null, "   "), resolution.missing());
+        verify(userProfileRepository, never()).findByUsernameIn(anyList());
+    }
+
+    @Test
+    public void resolveUsernames_WhenAllFound_ShouldReportAllFound() {
+        stubRepository();
+
+        assertTrue(userProfileService.resolveUsernames(List.of("alice", "bob")).allFound());
+    }
+
+    @Test
+    public void resolveUsernames_WhenMoreThanOneChunk_ShouldQueryPerChunk() {
+        int count = UserProfileService.USERNAME_CHUNK_SIZE * 2 + 1;
+        List<String> names = IntStream.range(0, count).mapToObj(i -> "user" + i).toList();
+        known = Set.copyOf(names);
+        stubRepository();
+
+        UserProfileService.UsernameResolution resolution = userProfileService.resolveUsernames(names);
+
+        assertEquals(List.of(UserProfileService.USERNAME_CHUNK_SIZE, UserProfileService.USERNAME_CHUNK_SIZE, 1),
+                queries.stream().map(List::size).toList());
+        assertEquals(names, List.copyOf(resolution.found().keySet()));
+        assertTrue(resolution.allFound());
+    }
+
+    // Answers findByUsernameIn from 'known', in reverse order so the service
+    // can't rely on the database returning rows in input order
+    private void stubRepository() {
+        when(userProfileRepository.findByUsernameIn(anyList())).thenAnswer(invocation -> {
+            List<String> chunk = List.copyOf(invocation.<List<String>>getArgument(0));
+            queries.add(chunk);
+            List<UserProfileImpl> users = new ArrayList<>();
+            for (int i = chunk.size() - 1; i >= 0; i--) {
+                String username = chunk.get(i);
+                if (known.contains(username)) {
+                    users.add(new StudentImpl(username, "id-" + username, username + "@example.com", username));
+                }
+            }
+            return users;
+        });
+    }
+}
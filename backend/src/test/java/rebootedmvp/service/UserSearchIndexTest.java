@@ -0,0 +1,100 @@
+package rebootedmvp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import rebootedmvp.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(new SimpleMeterRegistry());
+        index.put(entry("u1", "john", "John Smith"));
+        index.put(entry("u2", "johnny", "Johnny Walker"));
+        index.put(entry("u3", "jo", "Joanna Brown"));
+        index.put(entry("u4", "msmith", "Mary Smith"));
+    }
+
+    @Test
+    public void search_WhenUsernamePrefix_ShouldRankShorterKeysFirst() {
+        List<String> ids = ids(index.search("jo", 10));
+
+        assertEquals(List.of("u3", "u1", "u2"), ids);
+    }
+
+    @Test
+    public void search_WhenPrefixEndsMidEdge_ShouldMatch() {
+        assertEquals("u2", ids(index.search("johnn", 10)).get(0));
+    }
+
+    @Test
+    public void search_WhenFullNameWordPrefix_ShouldMatch() {
+        List<String> ids = ids(index.search("smi", 10));
+
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of("u1", "u4")));
+    }
+
+    @Test
+    public void search_WhenInfix_ShouldFallBackToTrigrams() {
+        List<String> ids = ids(index.search("alker", 10));
+
+        assertEquals(List.of("u2"), ids);
+    }
+
+    @Test
+    public void search_WhenLimited_ShouldReturnAtMostLimit() {
+        assertEquals(2, index.search("jo", 2).size());
+    }
+
+    @Test
+    public void search_WhenBlank_ShouldReturnNothing() {
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void remove_WhenUserRemoved_ShouldNoLongerMatch() {
+        index.remove("u1");
+
+        assertEquals(List.of("u3", "u2"), ids(index.search("jo", 10)));
+        assertEquals(List.of("u2"), ids(index.search("john", 10)));
+        assertEquals(List.of("u4"), ids(index.search("smith", 10)));
+    }
+
+    @Test
+    public void put_WhenRenamed_ShouldDropOldKeys() {
+        index.put(entry("u4", "mjones", "Mary Jones"));
+
+        assertFalse(ids(index.search("msmith", 10)).contains("u4"));
+        assertEquals(List.of("u4"), ids(index.search("mjo", 10)));
+    }
+
+    @Test
+    public void footprint_WhenAllRemoved_ShouldReturnToEmpty() {
+        for (String id : List.of("u1", "u2", "u3", "u4")) {
+            index.remove(id);
+        }
+
+        UserSearchIndex.Footprint footprint = index.footprint();
+        assertEquals(0, footprint.users());
+        assertEquals(1, footprint.trieNodes());
+        assertEquals(0, footprint.trigrams());
+        assertEquals(0, footprint.postings());
+    }
+
+    private static UserSearchIndex.Entry entry(String id, String username, String fullName) {
+        return new UserSearchIndex.Entry(id, username, username + "@example.com", fullName, User.UserType.Student);
+    }
+
+    private static List<String> ids(List<UserSearchIndex.Entry> entries) {
+        return entries.stream().map(UserSearchIndex.Entry::supabaseUserId).toList();
+    }
+}